@@ -1,12 +1,16 @@
 package io.angularpay.menial.adapters.common;
 
 import io.angularpay.menial.configurations.AngularPayConfiguration;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.JedisPoolConfig;
 
 @Configuration
 public class RedisConfiguration {
@@ -24,4 +28,29 @@ public class RedisConfiguration {
         return new StringRedisTemplate(connectionFactory);
     }
 
+    @Bean(destroyMethod = "close")
+    public JedisPool jedisPool(AngularPayConfiguration angularPayConfiguration, MeterRegistry meterRegistry) {
+        AngularPayConfiguration.Redis redis = angularPayConfiguration.getRedis();
+
+        JedisPoolConfig poolConfig = new JedisPoolConfig();
+        poolConfig.setMaxTotal(redis.getPool().getMaxTotal());
+        poolConfig.setMaxIdle(redis.getPool().getMaxIdle());
+        poolConfig.setMinIdle(redis.getPool().getMinIdle());
+        poolConfig.setMaxWaitMillis(redis.getPool().getMaxWaitMillis());
+        poolConfig.setTestOnBorrow(true);
+
+        JedisPool pool = new JedisPool(poolConfig, redis.getHost(), redis.getPort(), redis.getTimeout());
+
+        Gauge.builder("menial.redis.pool.active", pool, JedisPool::getNumActive).register(meterRegistry);
+        Gauge.builder("menial.redis.pool.idle", pool, JedisPool::getNumIdle).register(meterRegistry);
+        Gauge.builder("menial.redis.pool.waiters", pool, JedisPool::getNumWaiters).register(meterRegistry);
+        Gauge.builder("menial.redis.pool.borrow.wait.mean", pool, JedisPool::getMeanBorrowWaitTimeMillis)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("menial.redis.pool.borrow.wait.max", pool, JedisPool::getMaxBorrowWaitTimeMillis)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        return pool;
+    }
+
 }
@@ -2,40 +2,74 @@ package io.angularpay.menial.adapters.inbound;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.angularpay.menial.adapters.outbound.CipherServiceAdapter;
+import io.angularpay.menial.configurations.AngularPayConfiguration;
+import io.angularpay.menial.exceptions.ErrorCode;
 import io.angularpay.menial.exceptions.ErrorObject;
 import io.angularpay.menial.exceptions.ErrorResponse;
 import io.angularpay.menial.models.VerifySignatureResponseModel;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import reactor.core.publisher.Mono;
 
 import javax.servlet.*;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 import static io.angularpay.menial.common.Constants.ERROR_SOURCE;
 import static io.angularpay.menial.exceptions.ErrorCode.CIPHER_ERROR;
+import static io.angularpay.menial.exceptions.ErrorCode.CIPHER_SERVICE_UNAVAILABLE;
+import static io.angularpay.menial.exceptions.ErrorCode.REQUEST_BODY_TOO_LARGE;
 
+/**
+ * Verifies request signatures without holding a servlet thread: the request is put in async mode while the
+ * cipher service is called and re-dispatched through the chain once the signature checks out.
+ */
 @Slf4j
-@RequiredArgsConstructor
 public class CipherFilter implements Filter {
 
+    private static final String VERIFIED_ATTRIBUTE = CipherFilter.class.getName() + ".VERIFIED";
+    private static final String CONTEXT_ATTRIBUTE = CipherFilter.class.getName() + ".CONTEXT";
+    private static final String LATENCY_METRIC = "menial.cipher.verify";
+
     private final ObjectMapper objectMapper = new ObjectMapper();
     private final CipherServiceAdapter cipherServiceAdapter;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore inFlight;
+    private final Duration timeout;
+    private final int maxBodySize;
+
+    public CipherFilter(CipherServiceAdapter cipherServiceAdapter, AngularPayConfiguration configuration, MeterRegistry meterRegistry) {
+        this.cipherServiceAdapter = cipherServiceAdapter;
+        this.meterRegistry = meterRegistry;
+        this.inFlight = new Semaphore(configuration.getCipher().getMaxConcurrency());
+        this.timeout = Duration.ofMillis(configuration.getCipher().getTimeoutMillis());
+        this.maxBodySize = configuration.getCipher().getMaxBodySizeInKB() * 1024;
+        meterRegistry.gauge("menial.cipher.verify.in.flight", this.inFlight,
+                semaphore -> configuration.getCipher().getMaxConcurrency() - semaphore.availablePermits());
+    }
 
     @Override
     public void doFilter(ServletRequest servletRequest, ServletResponse response, FilterChain chain) throws IOException, ServletException {
-        servletRequest = new WrappedHttpServletRequest((HttpServletRequest) servletRequest);
+        if (servletRequest.getDispatcherType() == DispatcherType.ASYNC) {
+            resumeVerifiedRequest(servletRequest, response, chain);
+            return;
+        }
+
         HttpServletRequest request = (HttpServletRequest) servletRequest;
 
         if (!request.getMethod().equalsIgnoreCase("POST") && !request.getMethod().equalsIgnoreCase("PUT")) {
@@ -43,57 +77,171 @@ public class CipherFilter implements Filter {
             return;
         }
 
-        String requestBody = getBody(request);
+        WrappedHttpServletRequest wrappedRequest;
+        try {
+            wrappedRequest = new WrappedHttpServletRequest(request, maxBodySize);
+        } catch (WrappedHttpServletRequest.RequestBodyTooLargeException exception) {
+            log.info(exception.getMessage());
+            writeError(response, REQUEST_BODY_TOO_LARGE);
+            return;
+        }
+        servletRequest = wrappedRequest;
+
+        byte[] requestBody = wrappedRequest.getBody();
         Map<String, String> headers = Collections.list(request.getHeaderNames())
                 .stream().collect(Collectors.toMap(h -> h, request::getHeader));
 
+        if (!inFlight.tryAcquire()) {
+            log.warn("too many signature verifications in flight, rejecting request");
+            meterRegistry.counter(LATENCY_METRIC + ".rejected").increment();
+            writeError(response, CIPHER_SERVICE_UNAVAILABLE);
+            return;
+        }
+
         log.info("verifying signature");
-        VerifySignatureResponseModel signatureResponse = cipherServiceAdapter.verifySignature(requestBody, headers);
+        Verification verification = new Verification(MDC.getCopyOfContextMap(), Timer.start(meterRegistry));
+        try {
+            AsyncContext asyncContext = request.startAsync(servletRequest, response);
+            verification.asyncContext = asyncContext;
+            // the servlet timeout is only a backstop, the reactive timeout below fires first
+            asyncContext.setTimeout(timeout.toMillis() * 2);
+            asyncContext.addListener(verification);
 
-        if (signatureResponse.isValid()) {
-            log.info("signature is valid");
-            chain.doFilter(servletRequest, response);
-        } else {
-            log.info("signature is invalid");
-            List<ErrorObject> errors = Collections.singletonList(ErrorObject.builder()
-                    .code(CIPHER_ERROR)
-                    .message(CIPHER_ERROR.getDefaultMessage())
-                    .source(ERROR_SOURCE)
-                    .build());
-
-            ErrorResponse errorResponse = ErrorResponse.builder()
-                    .errorReference(UUID.randomUUID().toString())
-                    .timestamp(Instant.now().truncatedTo(ChronoUnit.SECONDS).toString())
-                    .errors(errors)
-                    .build();
-
-            String responseString = objectMapper.writeValueAsString(errorResponse);
-            ((HttpServletResponse) response).setStatus(400);
-            response.setContentType("application/json");
-            response.getOutputStream().write(responseString.getBytes());
+            cipherServiceAdapter.verifySignatureAsync(requestBody, headers)
+                    .timeout(timeout)
+                    .switchIfEmpty(Mono.error(() -> new IllegalStateException("empty response from cipher service")))
+                    .doFinally(signal -> verification.releasePermit())
+                    .subscribe(verification::onVerified, verification::onFailure);
+        } catch (RuntimeException exception) {
+            verification.releasePermit();
+            if (Objects.isNull(verification.asyncContext)) throw exception;
+            verification.onFailure(exception);
         }
     }
 
-    private static String getBody(ServletRequest request) throws IOException {
-        StringBuilder stringBuilder = new StringBuilder();
-        BufferedReader bufferedReader = null;
-        try {
-            InputStream inputStream = request.getInputStream();
-            if (inputStream != null) {
-                bufferedReader = new BufferedReader(new InputStreamReader(inputStream));
-                char[] charBuffer = new char[128];
-                int bytesRead = -1;
-                while ((bytesRead = bufferedReader.read(charBuffer)) > 0) {
-                    stringBuilder.append(charBuffer, 0, bytesRead);
+    /**
+     * One signature verification in flight. Whichever of the cipher service response, its failure or the servlet
+     * timeout comes first finishes the response, and the permit is released exactly once whatever happens.
+     */
+    private class Verification implements AsyncListener {
+
+        private final Map<String, String> context;
+        private final Timer.Sample sample;
+        private final AtomicBoolean permitReleased = new AtomicBoolean();
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private volatile AsyncContext asyncContext;
+
+        private Verification(Map<String, String> context, Timer.Sample sample) {
+            this.context = context;
+            this.sample = sample;
+        }
+
+        private void releasePermit() {
+            if (permitReleased.compareAndSet(false, true)) inFlight.release();
+        }
+
+        private void onVerified(VerifySignatureResponseModel signatureResponse) {
+            if (!finished.compareAndSet(false, true)) return;
+            withContext(context, () -> {
+                if (signatureResponse.isValid()) {
+                    stop(sample, "valid");
+                    log.info("signature is valid");
+                    asyncContext.getRequest().setAttribute(VERIFIED_ATTRIBUTE, Boolean.TRUE);
+                    asyncContext.getRequest().setAttribute(CONTEXT_ATTRIBUTE, context);
+                    asyncContext.dispatch();
+                } else {
+                    stop(sample, "invalid");
+                    log.info("signature is invalid");
+                    complete(asyncContext, CIPHER_ERROR);
                 }
-            } else {
-                stringBuilder.append("");
-            }
+            });
+        }
+
+        private void onFailure(Throwable error) {
+            if (!finished.compareAndSet(false, true)) return;
+            withContext(context, () -> {
+                stop(sample, error instanceof TimeoutException ? "timeout" : "error");
+                log.error("unable to verify signature", error);
+                complete(asyncContext, CIPHER_SERVICE_UNAVAILABLE);
+            });
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            releasePermit();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            releasePermit();
+            onFailure(new TimeoutException("servlet async timeout while verifying signature"));
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            releasePermit();
+            onFailure(event.getThrowable());
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+
+    private void resumeVerifiedRequest(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+        if (!Boolean.TRUE.equals(request.getAttribute(VERIFIED_ATTRIBUTE))) {
+            chain.doFilter(request, response);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, String> context = (Map<String, String>) request.getAttribute(CONTEXT_ATTRIBUTE);
+        if (Objects.nonNull(context)) MDC.setContextMap(context);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    private void complete(AsyncContext asyncContext, ErrorCode errorCode) {
+        try {
+            writeError(asyncContext.getResponse(), errorCode);
+        } catch (IOException exception) {
+            log.error("unable to write cipher error response", exception);
+        } finally {
+            asyncContext.complete();
+        }
+    }
+
+    private void writeError(ServletResponse response, ErrorCode errorCode) throws IOException {
+        List<ErrorObject> errors = Collections.singletonList(ErrorObject.builder()
+                .code(errorCode)
+                .message(errorCode.getDefaultMessage())
+                .source(ERROR_SOURCE)
+                .build());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .errorReference(UUID.randomUUID().toString())
+                .timestamp(Instant.now().truncatedTo(ChronoUnit.SECONDS).toString())
+                .errors(errors)
+                .build();
+
+        String responseString = objectMapper.writeValueAsString(errorResponse);
+        ((HttpServletResponse) response).setStatus(errorCode.getDefaultHttpStatus());
+        response.setContentType("application/json");
+        response.getOutputStream().write(responseString.getBytes());
+    }
+
+    private void stop(Timer.Sample sample, String outcome) {
+        sample.stop(meterRegistry.timer(LATENCY_METRIC, "outcome", outcome));
+    }
+
+    private static void withContext(Map<String, String> context, Runnable runnable) {
+        if (Objects.nonNull(context)) MDC.setContextMap(context);
+        try {
+            runnable.run();
         } finally {
-            if (bufferedReader != null) {
-                bufferedReader.close();
-            }
+            MDC.clear();
         }
-        return stringBuilder.toString();
     }
 }
@@ -1,11 +1,15 @@
 package io.angularpay.menial.adapters.inbound;
 
 import io.angularpay.menial.adapters.outbound.CipherServiceAdapter;
+import io.angularpay.menial.configurations.AngularPayConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import javax.servlet.DispatcherType;
+
 @Configuration
 public class CipherFilterRegistrar {
 
@@ -14,15 +18,22 @@ public class CipherFilterRegistrar {
             havingValue = "true",
             matchIfMissing = true)
     @Bean
-    public FilterRegistrationBean<CipherFilter> registerPostCommentsRateLimiter(CipherServiceAdapter cipherServiceAdapter) {
+    public FilterRegistrationBean<CipherFilter> registerPostCommentsRateLimiter(
+            CipherServiceAdapter cipherServiceAdapter,
+            AngularPayConfiguration configuration,
+            MeterRegistry meterRegistry) {
         FilterRegistrationBean<CipherFilter> registrationBean = new FilterRegistrationBean<>();
-        registrationBean.setFilter(new CipherFilter(cipherServiceAdapter));
+        registrationBean.setFilter(new CipherFilter(cipherServiceAdapter, configuration, meterRegistry));
+        registrationBean.setAsyncSupported(true);
+        registrationBean.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ASYNC);
         registrationBean.addUrlPatterns(
                 "/menial/requests",
                 "/menial/requests/*/summary",
                 "/menial/requests/*/amount",
                 "/menial/requests/*/service-providers",
-                "/menial/requests/*/service-providers/*/payment"
+                "/menial/requests/*/service-providers/*/payment",
+                "/menial/requests/bulk/service-providers/payments",
+                "/menial/requests/bulk/service-providers/ttl"
         );
         return registrationBean;
     }
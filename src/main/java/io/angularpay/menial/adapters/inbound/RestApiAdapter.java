@@ -7,11 +7,13 @@ import io.angularpay.menial.models.*;
 import io.angularpay.menial.ports.inbound.RestApiPort;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Map;
 
+import static io.angularpay.menial.common.Constants.CONTINUATION_TOKEN_HEADER;
 import static io.angularpay.menial.domain.DeletedBy.*;
 import static io.angularpay.menial.helpers.Helper.fromHeaders;
 
@@ -32,6 +34,8 @@ public class RestApiAdapter implements RestApiPort {
     private final RejectBargainCommand rejectBargainCommand;
     private final DeleteBargainCommand deleteBargainCommand;
     private final MakePaymentCommand makePaymentCommand;
+    private final BulkMakePaymentCommand bulkMakePaymentCommand;
+    private final BulkRemoveServiceProviderCommand bulkRemoveServiceProviderCommand;
     private final UpdateRequestStatusCommand updateRequestStatusCommand;
     private final GetRequestByReferenceCommand getRequestByReferenceCommand;
     private final GetNewsfeedCommand getNewsfeedCommand;
@@ -245,6 +249,35 @@ public class RestApiAdapter implements RestApiPort {
         return makePaymentCommand.execute(makePaymentCommandRequest);
     }
 
+    @PostMapping("/bulk/service-providers/payments")
+    @ResponseBody
+    @Override
+    public BulkCommandResponse makePayments(
+            @RequestBody List<BulkPaymentModel> payments,
+            @RequestHeader Map<String, String> headers) {
+        AuthenticatedUser authenticatedUser = fromHeaders(headers);
+        BulkMakePaymentCommandRequest bulkMakePaymentCommandRequest = BulkMakePaymentCommandRequest.builder()
+                .payments(payments)
+                .authenticatedUser(authenticatedUser)
+                .build();
+        return bulkMakePaymentCommand.execute(bulkMakePaymentCommandRequest);
+    }
+
+    @PostMapping("/bulk/service-providers/ttl")
+    @ResponseBody
+    @Override
+    public BulkCommandResponse removeServiceProvidersTTL(
+            @RequestBody List<InvestmentReferenceModel> investments,
+            @RequestHeader Map<String, String> headers) {
+        AuthenticatedUser authenticatedUser = fromHeaders(headers);
+        BulkRemoveServiceProviderCommandRequest bulkRemoveServiceProviderCommandRequest = BulkRemoveServiceProviderCommandRequest.builder()
+                .investments(investments)
+                .deletedBy(TTL_SERVICE)
+                .authenticatedUser(authenticatedUser)
+                .build();
+        return bulkRemoveServiceProviderCommand.execute(bulkRemoveServiceProviderCommandRequest);
+    }
+
     @PutMapping("/{requestReference}/status")
     @Override
     public void updateRequestStatus(
@@ -286,6 +319,19 @@ public class RestApiAdapter implements RestApiPort {
         return getNewsfeedCommand.execute(genericGetRequestListCommandRequest);
     }
 
+    @GetMapping("/list/newsfeed")
+    @Override
+    public ResponseEntity<List<MenialRequest>> getNewsfeedModel(
+            @RequestParam(value = "cursor", defaultValue = "") String cursor,
+            @RequestHeader Map<String, String> headers) {
+        AuthenticatedUser authenticatedUser = fromHeaders(headers);
+        GenericGetRequestListCommandRequest genericGetRequestListCommandRequest = GenericGetRequestListCommandRequest.builder()
+                .authenticatedUser(authenticatedUser)
+                .paging(Paging.builder().size(this.configuration.getPageSize()).cursor(cursor).build())
+                .build();
+        return withContinuationToken(getNewsfeedCommand.execute(genericGetRequestListCommandRequest));
+    }
+
     @GetMapping("/list/user-request/page/{page}")
     @Override
     public List<UserRequestModel> getUserRequests(
@@ -344,6 +390,21 @@ public class RestApiAdapter implements RestApiPort {
         return getRequestListByStatusCommand.execute(genericGetByStatusCommandRequest);
     }
 
+    @GetMapping("/list/filter/statuses/{statuses}")
+    @Override
+    public ResponseEntity<List<MenialRequest>> getRequestListByStatus(
+            @RequestParam(value = "cursor", defaultValue = "") String cursor,
+            @PathVariable List<RequestStatus> statuses,
+            @RequestHeader Map<String, String> headers) {
+        AuthenticatedUser authenticatedUser = fromHeaders(headers);
+        GenericGetByStatusCommandRequest genericGetByStatusCommandRequest = GenericGetByStatusCommandRequest.builder()
+                .authenticatedUser(authenticatedUser)
+                .paging(Paging.builder().size(this.configuration.getPageSize()).cursor(cursor).build())
+                .statuses(statuses)
+                .build();
+        return withContinuationToken(getRequestListByStatusCommand.execute(genericGetByStatusCommandRequest));
+    }
+
     @GetMapping("/list/page/{page}")
     @ResponseBody
     @Override
@@ -358,6 +419,28 @@ public class RestApiAdapter implements RestApiPort {
         return getRequestListCommand.execute(genericGetRequestListCommandRequest);
     }
 
+    @GetMapping("/list")
+    @Override
+    public ResponseEntity<List<MenialRequest>> getRequestList(
+            @RequestParam(value = "cursor", defaultValue = "") String cursor,
+            @RequestHeader Map<String, String> headers) {
+        AuthenticatedUser authenticatedUser = fromHeaders(headers);
+        GenericGetRequestListCommandRequest genericGetRequestListCommandRequest = GenericGetRequestListCommandRequest.builder()
+                .authenticatedUser(authenticatedUser)
+                .paging(Paging.builder().size(this.configuration.getPageSize()).cursor(cursor).build())
+                .build();
+        return withContinuationToken(getRequestListCommand.execute(genericGetRequestListCommandRequest));
+    }
+
+    private ResponseEntity<List<MenialRequest>> withContinuationToken(List<MenialRequest> requests) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        // a full page means there may be more; the next call starts right after the last item
+        if (!requests.isEmpty() && requests.size() >= this.configuration.getPageSize()) {
+            response.header(CONTINUATION_TOKEN_HEADER, Cursor.from(requests.get(requests.size() - 1)).encode());
+        }
+        return response.body(requests);
+    }
+
     @GetMapping("/statistics")
     @ResponseBody
     @Override
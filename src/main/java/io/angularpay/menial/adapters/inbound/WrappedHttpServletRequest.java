@@ -6,15 +6,34 @@ import javax.servlet.ReadListener;
 import javax.servlet.ServletInputStream;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletRequestWrapper;
+import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
 
+/**
+ * Reads the request body once into a single buffer that is shared by the signature check and the
+ * downstream {@code @RequestBody} deserializer. Bodies larger than {@code maxBodySize} are rejected.
+ */
 public class WrappedHttpServletRequest extends HttpServletRequestWrapper {
     private final byte[] bytes;
 
-    public WrappedHttpServletRequest(HttpServletRequest request) throws IOException {
+    public WrappedHttpServletRequest(HttpServletRequest request, int maxBodySize) throws IOException {
         super(request);
-        bytes = IOUtils.toByteArray(request.getInputStream());
+        bytes = readBody(request, maxBodySize);
+    }
+
+    /**
+     * @return the buffered body, not a copy - callers must not modify it
+     */
+    public byte[] getBody() {
+        return this.bytes;
     }
 
     @Override
@@ -22,6 +41,44 @@ public class WrappedHttpServletRequest extends HttpServletRequestWrapper {
         return new BufferedServletInputStream(this.bytes);
     }
 
+    @Override
+    public BufferedReader getReader() throws IOException {
+        Charset charset = Objects.isNull(getCharacterEncoding()) ? StandardCharsets.UTF_8 : Charset.forName(getCharacterEncoding());
+        return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+    }
+
+    private static byte[] readBody(HttpServletRequest request, int maxBodySize) throws IOException {
+        int contentLength = request.getContentLength();
+        if (contentLength > maxBodySize) {
+            throw new RequestBodyTooLargeException(maxBodySize);
+        }
+
+        InputStream inputStream = request.getInputStream();
+        if (contentLength >= 0) {
+            // the common case: size the buffer exactly so the body is never copied again
+            byte[] body = new byte[contentLength];
+            int read = IOUtils.read(inputStream, body);
+            return read == contentLength ? body : Arrays.copyOf(body, read);
+        }
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] chunk = new byte[8192];
+        int read;
+        while ((read = inputStream.read(chunk)) != -1) {
+            if (outputStream.size() + read > maxBodySize) {
+                throw new RequestBodyTooLargeException(maxBodySize);
+            }
+            outputStream.write(chunk, 0, read);
+        }
+        return outputStream.toByteArray();
+    }
+
+    public static class RequestBodyTooLargeException extends IOException {
+        public RequestBodyTooLargeException(int maxBodySize) {
+            super("request body exceeds the maximum of " + maxBodySize + " bytes");
+        }
+    }
+
     static class BufferedServletInputStream extends ServletInputStream {
         private final ByteArrayInputStream inputStream;
         public BufferedServletInputStream(byte[] buffer) {
@@ -42,12 +99,12 @@ public class WrappedHttpServletRequest extends HttpServletRequestWrapper {
 
         @Override
         public boolean isFinished() {
-            return false;
+            return inputStream.available() == 0;
         }
 
         @Override
         public boolean isReady() {
-            return false;
+            return true;
         }
 
         @Override
@@ -55,4 +112,4 @@ public class WrappedHttpServletRequest extends HttpServletRequestWrapper {
         }
     }
 
-}
\ No newline at end of file
+}
@@ -1,9 +1,12 @@
 package io.angularpay.menial.adapters.outbound;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.angularpay.menial.configurations.AngularPayConfiguration;
 import io.angularpay.menial.models.VerifySignatureResponseModel;
 import io.angularpay.menial.ports.outbound.CipherServicePort;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
@@ -12,17 +15,59 @@ import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Mono;
 
 import java.net.URI;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 @Service
-@RequiredArgsConstructor
 public class CipherServiceAdapter implements CipherServicePort {
 
+    // the verdict depends on every header the cipher service sees, so all of them are part of the cache key
+    private static final List<String> FORWARDED_HEADERS = List.of(
+            "x-angularpay-username",
+            "x-angularpay-device-id",
+            "x-angularpay-user-reference",
+            "x-angularpay-cipher-signature");
+
     private final WebClient webClient;
     private final AngularPayConfiguration configuration;
+    // only successful verifications are kept, a changed body or forwarded header always misses
+    private final Cache<String, VerifySignatureResponseModel> verifications;
+
+    public CipherServiceAdapter(WebClient webClient, AngularPayConfiguration configuration, MeterRegistry meterRegistry) {
+        this.webClient = webClient;
+        this.configuration = configuration;
+        AngularPayConfiguration.CacheSpec spec = configuration.getCache().getVerifications();
+        this.verifications = Caffeine.newBuilder()
+                .maximumSize(spec.getMaxSize())
+                .expireAfterWrite(Duration.ofSeconds(spec.getTtlSeconds()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.verifications, "cipher_verifications");
+    }
 
     @Override
-    public VerifySignatureResponseModel verifySignature(String requestBody, Map<String, String> headers) {
+    public VerifySignatureResponseModel verifySignature(byte[] requestBody, Map<String, String> headers) {
+        return verifySignatureAsync(requestBody, headers).block();
+    }
+
+    @Override
+    public Mono<VerifySignatureResponseModel> verifySignatureAsync(byte[] requestBody, Map<String, String> headers) {
+        String key = verificationKey(requestBody, headers);
+        VerifySignatureResponseModel cached = this.verifications.getIfPresent(key);
+        if (Objects.nonNull(cached)) return Mono.just(cached);
+
+        return verifyRemotely(requestBody, headers)
+                .doOnNext(response -> {
+                    if (response.isValid()) this.verifications.put(key, response);
+                });
+    }
+
+    private Mono<VerifySignatureResponseModel> verifyRemotely(byte[] requestBody, Map<String, String> headers) {
         URI cipherUrl = UriComponentsBuilder.fromUriString(configuration.getCipherUrl())
                 .path("/cipher/entries/")
                 .path(headers.get("x-angularpay-cipher-reference"))
@@ -33,18 +78,30 @@ public class CipherServiceAdapter implements CipherServicePort {
                 .post()
                 .uri(cipherUrl.toString())
                 .contentType(MediaType.APPLICATION_JSON)
-                .header("x-angularpay-username", headers.get("x-angularpay-username"))
-                .header("x-angularpay-device-id", headers.get("x-angularpay-device-id"))
-                .header("x-angularpay-user-reference", headers.get("x-angularpay-user-reference"))
-                .header("x-angularpay-cipher-signature", headers.get("x-angularpay-cipher-signature"))
-                .body(Mono.just(requestBody), String.class)
+                .headers(httpHeaders -> FORWARDED_HEADERS.forEach(name -> httpHeaders.add(name, headers.get(name))))
+                .bodyValue(requestBody)
                 .exchangeToMono(response -> {
                     if (response.statusCode().equals(HttpStatus.OK)) {
                         return response.bodyToMono(VerifySignatureResponseModel.class);
                     } else {
                         return Mono.just(new VerifySignatureResponseModel(false));
                     }
-                })
-                .block();
+                });
+    }
+
+    private static String verificationKey(byte[] requestBody, Map<String, String> headers) {
+        // header values never contain a line break, so the key is unambiguous
+        StringBuilder key = new StringBuilder(String.valueOf(headers.get("x-angularpay-cipher-reference")));
+        FORWARDED_HEADERS.forEach(name -> key.append('\n').append(headers.get(name)));
+        return key.append('\n').append(digest(requestBody)).toString();
+    }
+
+    private static String digest(byte[] requestBody) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(requestBody);
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
     }
 }
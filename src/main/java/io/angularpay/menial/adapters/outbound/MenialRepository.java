@@ -2,18 +2,21 @@ package io.angularpay.menial.adapters.outbound;
 
 import io.angularpay.menial.domain.MenialRequest;
 import io.angularpay.menial.domain.RequestStatus;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface MenialRepository extends MongoRepository<MenialRequest, String> {
 
+    String SUMMARY_FIELDS = "{ 'reference': 1, 'createdOn': 1, 'status': 1, 'serviceClient.userReference': 1 }";
+
     Optional<MenialRequest> findByReference(String reference);
-    Page<MenialRequest> findAll(Pageable pageable);
-    Page<MenialRequest> findByStatusIn(Pageable pageable, List<RequestStatus> statuses);
-    Page<MenialRequest> findByServiceClientUserReference(Pageable pageable, String userReference);
-    long countByStatus(RequestStatus status);
+    Slice<MenialRequest> findAllBy(Pageable pageable);
+    Slice<MenialRequest> findByStatusIn(Pageable pageable, List<RequestStatus> statuses);
+    @Query(value = "{ 'serviceClient.userReference': ?0 }", fields = SUMMARY_FIELDS)
+    Slice<MenialRequest> findSummariesByServiceClientUserReference(Pageable pageable, String userReference);
 }
@@ -0,0 +1,62 @@
+package io.angularpay.menial.adapters.outbound;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.angularpay.menial.configurations.AngularPayConfiguration;
+import io.angularpay.menial.domain.MenialRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Bounded, short-lived cache of {@link MenialRequest} documents keyed by request reference.
+ * Entries are stored as raw BSON so every read hands out a fresh instance that callers are free to mutate.
+ */
+@Service
+public class MenialRequestCache {
+
+    private final MongoConverter converter;
+    private final Cache<String, Document> cache;
+
+    public MenialRequestCache(MongoConverter converter, AngularPayConfiguration configuration, MeterRegistry meterRegistry) {
+        this.converter = converter;
+        AngularPayConfiguration.CacheSpec spec = configuration.getCache().getRequests();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(spec.getMaxSize())
+                .expireAfterWrite(Duration.ofSeconds(spec.getTtlSeconds()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.cache, "menial_requests");
+    }
+
+    public Optional<MenialRequest> get(String reference) {
+        Document document = this.cache.getIfPresent(reference);
+        if (Objects.isNull(document)) return Optional.empty();
+        return Optional.of(this.converter.read(MenialRequest.class, document));
+    }
+
+    public void put(MenialRequest request) {
+        if (Objects.isNull(request) || Objects.isNull(request.getReference())) return;
+        Document document = new Document();
+        this.converter.write(request, document);
+        // never let a slower reader overwrite a newer version
+        this.cache.asMap().merge(request.getReference(), document,
+                (existing, candidate) -> version(candidate) >= version(existing) ? candidate : existing);
+    }
+
+    public void evict(String reference) {
+        if (Objects.isNull(reference)) return;
+        this.cache.invalidate(reference);
+    }
+
+    private static int version(Document document) {
+        Object version = document.get("version");
+        return version instanceof Number ? ((Number) version).intValue() : -1;
+    }
+}
@@ -1,64 +1,272 @@
 package io.angularpay.menial.adapters.outbound;
 
 import io.angularpay.menial.domain.MenialRequest;
+import io.angularpay.menial.domain.OutboxLease;
+import io.angularpay.menial.domain.OutboxMessage;
 import io.angularpay.menial.domain.RequestStatus;
+import io.angularpay.menial.models.Cursor;
+import io.angularpay.menial.models.RequestCounts;
+import io.angularpay.menial.models.UserInvestmentModel;
 import io.angularpay.menial.ports.outbound.PersistencePort;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.bson.Document;
+import org.bson.types.ObjectId;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.*;
 
 @Service
 @RequiredArgsConstructor
 public class MongoAdapter implements PersistencePort {
 
     private final MenialRepository menialRepository;
+    private final MenialRequestCache menialRequestCache;
+    private final MongoTemplate mongoTemplate;
 
     @Override
     public MenialRequest createRequest(MenialRequest request) {
-        request.setCreatedOn(Instant.now().truncatedTo(ChronoUnit.SECONDS).toString());
-        request.setLastModified(Instant.now().truncatedTo(ChronoUnit.SECONDS).toString());
-        return menialRepository.save(request);
+        // insert always starts the primitive @Version at 1, see CommandHelper.createRequest
+        MenialRequest created = mongoTemplate.insert(request);
+        menialRequestCache.put(created);
+        return created;
+    }
+
+    @Override
+    public Optional<MenialRequest> applyUpdate(String reference, int expectedVersion, Update update) {
+        // the update carries its own version increment and lastModified, see CommandHelper
+        // completed and cancelled requests are immutable, so they never match an in-place update
+        Criteria criteria = Criteria.where("reference").is(reference)
+                .and("status").nin(Arrays.asList(RequestStatus.COMPLETED, RequestStatus.CANCELLED))
+                .and("version").is(expectedVersion);
+
+        MenialRequest updated = mongoTemplate.findAndModify(
+                Query.query(criteria),
+                update,
+                FindAndModifyOptions.options().returnNew(true),
+                MenialRequest.class
+        );
+        if (Objects.isNull(updated)) {
+            menialRequestCache.evict(reference);
+            return Optional.empty();
+        }
+        menialRequestCache.put(updated);
+        return Optional.of(updated);
     }
 
     @Override
-    public MenialRequest updateRequest(MenialRequest request) {
-        request.setLastModified(Instant.now().truncatedTo(ChronoUnit.SECONDS).toString());
-        return menialRepository.save(request);
+    public void applyUpdates(Map<String, Update> updatesByReference, Map<String, Integer> expectedVersions) {
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, MenialRequest.class);
+        updatesByReference.forEach((reference, update) -> {
+            Criteria criteria = Criteria.where("reference").is(reference)
+                    .and("status").nin(Arrays.asList(RequestStatus.COMPLETED, RequestStatus.CANCELLED))
+                    .and("version").is(expectedVersions.get(reference));
+            operations.updateOne(Query.query(criteria), update);
+        });
+        try {
+            operations.execute();
+        } finally {
+            updatesByReference.keySet().forEach(menialRequestCache::evict);
+        }
+    }
+
+    @Override
+    public List<MenialRequest> findRequestsByReferences(Collection<String> references) {
+        List<MenialRequest> found = mongoTemplate.find(
+                Query.query(Criteria.where("reference").in(references)), MenialRequest.class);
+        found.forEach(menialRequestCache::put);
+        return found;
     }
 
     @Override
     public Optional<MenialRequest> findRequestByReference(String reference) {
-        return menialRepository.findByReference(reference);
+        // every write is guarded by @Version: an entry made stale by another node fails the write, which evicts it
+        // before the retry reads again, while the TTL bounds how stale a plain read can be
+        Optional<MenialRequest> cached = menialRequestCache.get(reference);
+        if (cached.isPresent()) return cached;
+        Optional<MenialRequest> found = menialRepository.findByReference(reference);
+        found.ifPresent(menialRequestCache::put);
+        return found;
+    }
+
+    @Override
+    public Slice<MenialRequest> listRequests(Pageable pageable) {
+        return menialRepository.findAllBy(pageable);
     }
 
     @Override
-    public Page<MenialRequest> listRequests(Pageable pageable) {
-        return menialRepository.findAll(pageable);
+    public List<MenialRequest> listRequestsAfter(Cursor cursor, int size) {
+        return findAfter(new Criteria(), cursor, size);
     }
 
     @Override
-    public Page<MenialRequest> findRequestsByStatus(Pageable pageable, List<RequestStatus> statuses) {
+    public Slice<MenialRequest> findRequestsByStatus(Pageable pageable, List<RequestStatus> statuses) {
         return menialRepository.findByStatusIn(pageable, statuses);
     }
 
     @Override
-    public Page<MenialRequest> findByServiceClientUserReference(Pageable pageable, String userReference) {
-        return menialRepository.findByServiceClientUserReference(pageable, userReference);
+    public List<MenialRequest> findRequestsByStatusAfter(Cursor cursor, int size, List<RequestStatus> statuses) {
+        return findAfter(Criteria.where("status").in(statuses), cursor, size);
+    }
+
+    private List<MenialRequest> findAfter(Criteria filter, Cursor cursor, int size) {
+        return mongoTemplate.find(afterQuery(filter, cursor, size), MenialRequest.class);
+    }
+
+    static Query afterQuery(Criteria filter, Cursor cursor, int size) {
+        Criteria criteria = filter;
+        if (Objects.nonNull(cursor)) {
+            // the mapper only converts ids to ObjectId for equality, a range on a String id would never match
+            criteria = new Criteria().andOperator(filter, new Criteria().orOperator(
+                    Criteria.where("createdOn").lt(cursor.getCreatedOn()),
+                    Criteria.where("createdOn").is(cursor.getCreatedOn()).and("id").lt(new ObjectId(cursor.getId()))
+            ));
+        }
+        return Query.query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "createdOn", "id"))
+                .limit(size);
     }
 
     @Override
-    public long getCountByRequestStatus(RequestStatus status) {
-        return menialRepository.countByStatus(status);
+    public Slice<MenialRequest> findRequestSummariesByServiceClientUserReference(Pageable pageable, String userReference) {
+        // only reference, createdOn, status and the owner are loaded; providers and offers stay in the database
+        return menialRepository.findSummariesByServiceClientUserReference(pageable, userReference);
     }
 
     @Override
-    public long getTotalCount() {
-        return menialRepository.count();
+    public List<UserInvestmentModel> findInvestmentsByUserReference(Pageable pageable, String userReference) {
+        Criteria byInvestor = Criteria.where("serviceProviders.userReference").is(userReference);
+        Aggregation aggregation = newAggregation(
+                match(byInvestor),
+                // keep only the provider fields we need before unwinding, so whole documents never reach the pipeline
+                context -> new Document("$project", new Document("reference", 1)
+                        .append("serviceProviders.reference", 1)
+                        .append("serviceProviders.userReference", 1)
+                        .append("serviceProviders.createdOn", 1)),
+                unwind("serviceProviders"),
+                match(byInvestor),
+                sort(Sort.Direction.DESC, "serviceProviders.createdOn"),
+                skip(pageable.getOffset()),
+                limit(pageable.getPageSize()),
+                project()
+                        .and("reference").as("requestReference")
+                        .and("serviceProviders.reference").as("investmentReference")
+                        .and("serviceProviders.userReference").as("userReference")
+                        .and("serviceProviders.createdOn").as("createdOn")
+        );
+        return mongoTemplate.aggregate(aggregation, MenialRequest.class, Document.class)
+                .getMappedResults().stream()
+                .map(x -> UserInvestmentModel.builder()
+                        .requestReference(x.getString("requestReference"))
+                        .investmentReference(x.getString("investmentReference"))
+                        .userReference(x.getString("userReference"))
+                        .requestCreatedOn(x.getString("createdOn"))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public RequestCounts getCountsByRequestStatus() {
+        Aggregation aggregation = newAggregation(group("status").count().as("count"));
+        Map<RequestStatus, Long> counts = new EnumMap<>(RequestStatus.class);
+        long total = 0;
+        for (Document x : mongoTemplate.aggregate(aggregation, MenialRequest.class, Document.class).getMappedResults()) {
+            long count = ((Number) x.get("count")).longValue();
+            total += count;
+            Object status = x.get("_id");
+            if (Objects.nonNull(status)) counts.put(RequestStatus.valueOf(status.toString()), count);
+        }
+        return RequestCounts.builder().byStatus(counts).total(total).build();
+    }
+
+    @Override
+    public List<MenialRequest> findRequestsWithPendingOutbox(Instant now, int limit) {
+        Query query = Query.query(Criteria.where("outbox.createdOn").lte(now).and("outboxLease.until").not().gt(now))
+                .with(Sort.by(Sort.Direction.ASC, "outbox.createdOn"))
+                .limit(limit);
+        query.fields().include("id");
+        return mongoTemplate.find(query, MenialRequest.class);
+    }
+
+    // the outbox bookkeeping below goes through the collection name, so Spring Data leaves @Version alone
+
+    @Override
+    public List<MenialRequest> leaseOutbox(Collection<String> ids, Instant now, OutboxLease lease) {
+        Query query = Query.query(Criteria.where("_id").in(ids).and("outboxLease.until").not().gt(now));
+        Update update = new Update()
+                .set("outboxLease.owner", lease.getOwner())
+                .set("outboxLease.token", lease.getToken())
+                .set("outboxLease.until", lease.getUntil());
+        mongoTemplate.updateMulti(query, update, outboxCollection());
+
+        Query leased = Query.query(Criteria.where("outboxLease.token").is(lease.getToken()));
+        leased.fields().include("reference").include("outbox").include("outboxLease");
+        return mongoTemplate.find(leased, MenialRequest.class);
+    }
+
+    @Override
+    public void releaseOutbox(Map<String, List<String>> relayedByRequestId, String token) {
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, outboxCollection());
+        relayedByRequestId.forEach((id, messageIds) -> operations.updateOne(
+                Query.query(Criteria.where("_id").is(id).and("outboxLease.token").is(token)),
+                new Update()
+                        .pull("outbox", new Document("_id", new Document("$in", messageIds)))
+                        .unset("outboxLease")));
+        operations.execute();
+    }
+
+    @Override
+    public void rescheduleOutbox(Collection<String> ids, String token, Instant until, String lastError) {
+        Query query = Query.query(Criteria.where("_id").in(ids).and("outboxLease.token").is(token));
+        Update update = new Update()
+                .inc("outboxLease.attempts", 1)
+                .set("outboxLease.until", until)
+                .set("outboxLease.lastError", lastError)
+                .unset("outboxLease.owner")
+                .unset("outboxLease.token");
+        mongoTemplate.updateMulti(query, update, outboxCollection());
+    }
+
+    @Override
+    public void createFailedOutboxMessages(List<OutboxMessage> messages) {
+        mongoTemplate.insert(messages, OutboxMessage.class);
+    }
+
+    @Override
+    public Optional<Instant> findOldestPendingOutboxMessage() {
+        Query query = new Query(Criteria.where("outbox.createdOn").exists(true))
+                .with(Sort.by(Sort.Direction.ASC, "outbox.createdOn"))
+                .limit(1);
+        query.fields().include("outbox.createdOn");
+        return Optional.ofNullable(mongoTemplate.findOne(query, MenialRequest.class))
+                .flatMap(request -> request.getOutbox().stream().map(OutboxMessage::getCreatedOn).min(Instant::compareTo));
+    }
+
+    @Override
+    public long getFailedOutboxMessageCount() {
+        return mongoTemplate.estimatedCount(OutboxMessage.class);
+    }
+
+    private String outboxCollection() {
+        return mongoTemplate.getCollectionName(MenialRequest.class);
     }
 }
@@ -0,0 +1,25 @@
+package io.angularpay.menial.adapters.outbound;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component("mongoIndexes")
+@RequiredArgsConstructor
+public class MongoIndexHealthIndicator implements HealthIndicator {
+
+    private final MongoIndexManager mongoIndexManager;
+
+    @Override
+    public Health health() {
+        List<String> missing = this.mongoIndexManager.getMissingIndexes();
+        Health.Builder builder = missing.isEmpty() ? Health.up() : Health.down();
+        return builder
+                .withDetail("expected", this.mongoIndexManager.getExpectedIndexes())
+                .withDetail("missing", missing)
+                .build();
+    }
+}
@@ -0,0 +1,110 @@
+package io.angularpay.menial.adapters.outbound;
+
+import io.angularpay.menial.configurations.AngularPayConfiguration;
+import io.angularpay.menial.domain.MenialRequest;
+import io.angularpay.menial.domain.OutboxMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Creates the indexes declared on {@link MenialRequest} and {@link OutboxMessage} at startup and reports the ones that are missing.
+ * Index auto-creation is disabled by default in Spring Data MongoDB, so this is the single place they get built.
+ * Runs once all singletons exist and before the web server starts, so no request is served without them.
+ */
+@Slf4j
+@Service
+public class MongoIndexManager implements SmartInitializingSingleton {
+
+    private final MongoTemplate mongoTemplate;
+    private final AngularPayConfiguration configuration;
+    private final Map<Class<?>, List<IndexDefinition>> definitions = new LinkedHashMap<>();
+
+    public MongoIndexManager(MongoTemplate mongoTemplate, MongoMappingContext mappingContext, AngularPayConfiguration configuration) {
+        this.mongoTemplate = mongoTemplate;
+        this.configuration = configuration;
+        MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        List.of(MenialRequest.class, OutboxMessage.class).forEach(entity -> {
+            List<IndexDefinition> indexes = new ArrayList<>();
+            resolver.resolveIndexFor(entity).forEach(indexes::add);
+            this.definitions.put(entity, indexes);
+        });
+        // the retention is configurable, so this one cannot be declared on the entity
+        this.definitions.get(OutboxMessage.class).add(new Index()
+                .on("failedOn", Sort.Direction.ASC)
+                .expire(Duration.ofDays(configuration.getOutbox().getFailedRetentionDays()))
+                .named("failed_on_ttl"));
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        this.ensureIndexes();
+    }
+
+    public void ensureIndexes() {
+        if (!this.configuration.getMongo().isEnsureIndexes()) {
+            log.info("index creation is disabled, skipping");
+            return;
+        }
+        this.definitions.forEach((entity, indexes) -> {
+            IndexOperations indexOperations = this.mongoTemplate.indexOps(entity);
+            String collection = this.mongoTemplate.getCollectionName(entity);
+            indexes.forEach(definition -> {
+                try {
+                    String name = indexOperations.ensureIndex(definition);
+                    log.info("ensured index {} on {}", name, collection);
+                } catch (Exception exception) {
+                    log.error("unable to create index {} on {}", indexName(definition), collection, exception);
+                }
+            });
+        });
+        List<String> missing = this.getMissingIndexes();
+        if (!missing.isEmpty()) {
+            log.warn("missing indexes {}", missing);
+        }
+    }
+
+    public List<String> getExpectedIndexes() {
+        return this.definitions.entrySet().stream()
+                .flatMap(entry -> entry.getValue().stream().map(definition -> qualifiedName(entry.getKey(), definition)))
+                .collect(Collectors.toList());
+    }
+
+    public List<String> getMissingIndexes() {
+        List<String> missing = new ArrayList<>();
+        this.definitions.forEach((entity, indexes) -> {
+            Set<String> existing = this.mongoTemplate.indexOps(entity).getIndexInfo().stream()
+                    .map(IndexInfo::getName)
+                    .collect(Collectors.toSet());
+            indexes.stream()
+                    .filter(definition -> !existing.contains(indexName(definition)))
+                    .map(definition -> qualifiedName(entity, definition))
+                    .forEach(missing::add);
+        });
+        return missing;
+    }
+
+    private String qualifiedName(Class<?> entity, IndexDefinition definition) {
+        return this.mongoTemplate.getCollectionName(entity) + "." + indexName(definition);
+    }
+
+    private static String indexName(IndexDefinition definition) {
+        return String.valueOf(definition.getIndexOptions().get("name"));
+    }
+}
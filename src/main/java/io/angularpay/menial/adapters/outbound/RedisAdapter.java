@@ -1,9 +1,11 @@
 package io.angularpay.menial.adapters.outbound;
 
+import io.angularpay.menial.domain.OutboxMessage;
 import io.angularpay.menial.ports.outbound.OutboundMessagingPort;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -14,18 +16,8 @@ public class RedisAdapter implements OutboundMessagingPort {
     private final RedisHashClient redisHashClient;
 
     @Override
-    public void publishUpdates(String message) {
-        this.redisTopicPublisher.publishUpdates(message);
-    }
-
-    @Override
-    public void publishTTL(String message) {
-        this.redisTopicPublisher.publishTTL(message);
-    }
-
-    @Override
-    public void publishUserNotification(String message) {
-        this.redisTopicPublisher.publishUserNotification(message);
+    public Map<String, Exception> publishAll(Map<String, List<OutboxMessage>> messagesByKey) {
+        return this.redisTopicPublisher.publishAll(messagesByKey);
     }
 
     @Override
@@ -1,9 +1,9 @@
 package io.angularpay.menial.adapters.outbound;
 
-import io.angularpay.menial.configurations.AngularPayConfiguration;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
 
 import java.util.Map;
 
@@ -11,18 +11,10 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class RedisHashClient {
 
-    private final AngularPayConfiguration configuration;
-
-    private Jedis jedisInstance() {
-        return new Jedis(
-                configuration.getRedis().getHost(),
-                configuration.getRedis().getPort(),
-                configuration.getRedis().getTimeout()
-        );
-    }
+    private final JedisPool jedisPool;
 
     public Map<String, String> getPlatformConfigurations(String hashName) {
-        try (Jedis jedis = jedisInstance()) {
+        try (Jedis jedis = jedisPool.getResource()) {
             return jedis.hgetAll(hashName);
         }
     }
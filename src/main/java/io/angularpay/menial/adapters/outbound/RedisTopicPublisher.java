@@ -1,10 +1,21 @@
 package io.angularpay.menial.adapters.outbound;
 
+import io.angularpay.menial.configurations.AngularPayConfiguration;
+import io.angularpay.menial.domain.OutboxChannel;
+import io.angularpay.menial.domain.OutboxMessage;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.listener.ChannelTopic;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Service
 @RequiredArgsConstructor
 public class RedisTopicPublisher {
@@ -13,16 +24,59 @@ public class RedisTopicPublisher {
     private final ChannelTopic updatesTopic;
     private final ChannelTopic ttlTopic;
     private final ChannelTopic userNotificationsTopic;
+    private final AngularPayConfiguration configuration;
+
+    /**
+     * Publishes outbox messages in order over pipelined connections, one round trip per batch instead of per message.
+     * The messages of one key are never split across batches, so a failed batch fails its keys as a whole and the
+     * other batches are still published.
+     *
+     * @return the error of each key whose batch could not be published, empty when everything was published
+     */
+    public Map<String, Exception> publishAll(Map<String, List<OutboxMessage>> messagesByKey) {
+        int batchSize = Math.max(1, configuration.getPublisher().getBatchSize());
+        Map<String, Exception> failures = new LinkedHashMap<>();
+        List<String> keys = new ArrayList<>();
+        List<OutboxMessage> batch = new ArrayList<>();
+        messagesByKey.forEach((key, messages) -> {
+            if (!batch.isEmpty() && batch.size() + messages.size() > batchSize) {
+                publishBatch(keys, batch, failures);
+            }
+            keys.add(key);
+            batch.addAll(messages);
+        });
+        publishBatch(keys, batch, failures);
+        return failures;
+    }
 
-    public void publishUpdates(String message) {
-        template.convertAndSend(updatesTopic.getTopic(), message);
+    private void publishBatch(List<String> keys, List<OutboxMessage> batch, Map<String, Exception> failures) {
+        if (keys.isEmpty()) return;
+        try {
+            template.executePipelined((RedisCallback<Object>) connection -> {
+                publish(connection, batch);
+                return null;
+            });
+        } catch (RuntimeException exception) {
+            keys.forEach(key -> failures.put(key, exception));
+        }
+        keys.clear();
+        batch.clear();
     }
 
-    public void publishTTL(String message) {
-        template.convertAndSend(ttlTopic.getTopic(), message);
+    private String topic(OutboxChannel channel) {
+        switch (channel) {
+            case UPDATES:
+                return updatesTopic.getTopic();
+            case TTL:
+                return ttlTopic.getTopic();
+            default:
+                return userNotificationsTopic.getTopic();
+        }
     }
 
-    public void publishUserNotification(String message) {
-        template.convertAndSend(userNotificationsTopic.getTopic(), message);
+    private void publish(RedisConnection connection, List<OutboxMessage> messages) {
+        messages.forEach(message -> connection.publish(
+                topic(message.getChannel()).getBytes(StandardCharsets.UTF_8),
+                message.getPayload().getBytes(StandardCharsets.UTF_8)));
     }
 }
@@ -6,4 +6,5 @@ public class Constants {
     public static final String USER_NOTIFICATIONS_TOPIC = "user-notifications";
     public static final String ERROR_SOURCE = "menial-service";
     public static final String SERVICE_CODE = "MNL";
+    public static final String CONTINUATION_TOKEN_HEADER = "x-angularpay-continuation-token";
 }
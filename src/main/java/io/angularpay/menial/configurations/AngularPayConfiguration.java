@@ -4,23 +4,152 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.Map;
+
 @Configuration
 @ConfigurationProperties("angularpay")
 @Data
 public class AngularPayConfiguration {
 
+    private String nodeId;
     private String selfUrl;
     private String cipherUrl;
     private String schedulerUrl;
     private int pageSize;
     private int codecSizeInMB;
     private int maxUpdateRetry;
+    private Retry retry;
+    private Locks locks;
+    private GroupCommit groupCommit;
+    private Bulk bulk;
+    private Cipher cipher;
+    private Mongo mongo;
+    private Cache cache;
+    private Publisher publisher;
+    private Outbox outbox;
+    private Statistics statistics;
     private Redis redis;
+    private Logging logging;
+
+    @Data
+    public static class Cipher {
+        private boolean enabled;
+        private int maxConcurrency;
+        private long timeoutMillis;
+        private int maxBodySizeInKB;
+    }
+
+    @Data
+    public static class Mongo {
+        private boolean ensureIndexes;
+    }
+
+    @Data
+    public static class Cache {
+        private CacheSpec requests;
+        private CacheSpec verifications;
+    }
+
+    @Data
+    public static class CacheSpec {
+        private long maxSize;
+        private long ttlSeconds;
+    }
+
+    /**
+     * Backoff between optimistic-lock retries; {@code maxUpdateRetry} still caps the number of retries.
+     */
+    @Data
+    public static class Retry {
+        private long initialBackoffMillis;
+        private long maxBackoffMillis;
+        private long maxElapsedMillis;
+        private double budgetRatio;
+        private long budgetMaxRetries;
+        private CacheSpec contention;
+    }
+
+    @Data
+    public static class Locks {
+        private int stripes;
+        private long timeoutMillis;
+    }
+
+    /**
+     * The window is only waited out while another write for the same key is in flight; 0 writes every addition
+     * on its own.
+     */
+    @Data
+    public static class GroupCommit {
+        private long windowMillis;
+        private int maxBatchSize;
+    }
+
+    @Data
+    public static class Bulk {
+        private int maxItems;
+    }
+
+    @Data
+    public static class Publisher {
+        private int corePoolSize;
+        private int maxPoolSize;
+        private int queueCapacity;
+        private String rejectionPolicy;
+        private int awaitTerminationSeconds;
+        private int batchSize;
+    }
+
+    /**
+     * {@code batchSize} counts requests, each relayed with all of its pending messages. A relay holds its lease
+     * for {@code leaseSeconds}, after which another node may take the request over.
+     */
+    @Data
+    public static class Outbox {
+        private long relayIntervalMillis;
+        private int batchSize;
+        private int maxAttempts;
+        private long initialBackoffMillis;
+        private long maxBackoffMillis;
+        private long leaseSeconds;
+        private long failedRetentionDays;
+    }
+
+    @Data
+    public static class Statistics {
+        private long refreshIntervalMillis;
+        private long stalenessSeconds;
+    }
 
     @Data
     public static class Redis {
         private String host;
         private int port;
         private int timeout;
+        private Pool pool;
+    }
+
+    @Data
+    public static class Pool {
+        private int maxTotal;
+        private int maxIdle;
+        private int minIdle;
+        private long maxWaitMillis;
+    }
+
+    @Data
+    public static class Logging {
+        private PayloadLogging payloads;
+    }
+
+    /**
+     * Unset values in a per-command entry fall back to the top-level payload settings.
+     */
+    @Data
+    public static class PayloadLogging {
+        private Boolean enabled;
+        private Integer maxChars;
+        private Double sampleRate;
+        private Map<String, PayloadLogging> commands;
     }
 }
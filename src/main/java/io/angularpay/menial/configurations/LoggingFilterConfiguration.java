@@ -9,6 +9,8 @@ import javax.servlet.*;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
 
 import static io.angularpay.menial.helpers.Helper.addToMappedDiagnosticContext;
 import static io.angularpay.menial.helpers.Helper.addToMappedDiagnosticContextOrRandomUUID;
@@ -26,11 +28,10 @@ public class LoggingFilterConfiguration implements Filter {
         HttpServletResponse httpServletResponse = (HttpServletResponse) response;
 
         String CORRELATION_ID = "x-angularpay-correlation-id";
-        String STATUS_CODE = "statusCode";
 
         long startTime = System.currentTimeMillis();
-        String RESPONSE_TIME = "x-angularpay-response-time";
 
+        boolean async = false;
         try {
             String USERNAME = "x-angularpay-username";
             String USER_REFERENCE = "x-angularpay-user-reference";
@@ -66,13 +67,50 @@ public class LoggingFilterConfiguration implements Filter {
             log.info("Received API request");
 
             chain.doFilter(requestWrapper, response);
+
+            // e.g. signature verification, the response is only known once the async cycle completes
+            if (request.isAsyncStarted()) {
+                async = true;
+                Map<String, String> context = MDC.getCopyOfContextMap();
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        if (Objects.nonNull(context)) MDC.setContextMap(context);
+                        logResponse(httpServletResponse, startTime);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            }
         } finally {
-            addToMappedDiagnosticContext(RESPONSE_TIME, String.valueOf(System.currentTimeMillis() - startTime));
-            addToMappedDiagnosticContext(CORRELATION_ID, httpServletResponse.getHeader(CORRELATION_ID));
-            addToMappedDiagnosticContext(STATUS_CODE, String.valueOf(httpServletResponse.getStatus()));
-            log.info("Returning API response");
-            MDC.clear();
+            if (async) {
+                MDC.clear();
+            } else {
+                logResponse(httpServletResponse, startTime);
+            }
         }
     }
 
+    private static void logResponse(HttpServletResponse httpServletResponse, long startTime) {
+        String CORRELATION_ID = "x-angularpay-correlation-id";
+        String STATUS_CODE = "statusCode";
+        String RESPONSE_TIME = "x-angularpay-response-time";
+
+        addToMappedDiagnosticContext(RESPONSE_TIME, String.valueOf(System.currentTimeMillis() - startTime));
+        addToMappedDiagnosticContext(CORRELATION_ID, httpServletResponse.getHeader(CORRELATION_ID));
+        addToMappedDiagnosticContext(STATUS_CODE, String.valueOf(httpServletResponse.getStatus()));
+        log.info("Returning API response");
+        MDC.clear();
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package io.angularpay.menial.configurations;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.Collections;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class PublisherExecutorConfiguration {
+
+    public static final String PUBLISHER_EXECUTOR = "publisherExecutor";
+
+    @Bean(PUBLISHER_EXECUTOR)
+    public ThreadPoolTaskExecutor publisherExecutor(AngularPayConfiguration configuration, MeterRegistry meterRegistry) {
+        AngularPayConfiguration.Publisher publisher = configuration.getPublisher();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("menial-publisher-");
+        executor.setCorePoolSize(publisher.getCorePoolSize());
+        executor.setMaxPoolSize(publisher.getMaxPoolSize());
+        executor.setQueueCapacity(publisher.getQueueCapacity());
+        executor.setRejectedExecutionHandler(rejectionPolicy(publisher.getRejectionPolicy()));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(publisher.getAwaitTerminationSeconds());
+        executor.initialize();
+
+        // exposes pool size, active threads, queue depth and task counts
+        ExecutorServiceMetrics.monitor(meterRegistry, executor.getThreadPoolExecutor(), PUBLISHER_EXECUTOR, Collections.emptyList());
+        return executor;
+    }
+
+    private static RejectedExecutionHandler rejectionPolicy(String rejectionPolicy) {
+        if ("ABORT".equalsIgnoreCase(rejectionPolicy)) {
+            return new ThreadPoolExecutor.AbortPolicy();
+        }
+        if ("DISCARD".equalsIgnoreCase(rejectionPolicy)) {
+            return new ThreadPoolExecutor.DiscardPolicy();
+        }
+        // default: slow the producing request thread down instead of dropping messages
+        return new ThreadPoolExecutor.CallerRunsPolicy();
+    }
+}
@@ -0,0 +1,18 @@
+package io.angularpay.menial.configurations;
+
+import io.angularpay.menial.helpers.ExponentialBackoffRetryPolicy;
+import io.angularpay.menial.helpers.RetryPolicy;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RetryPolicyConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(RetryPolicy.class)
+    public RetryPolicy retryPolicy(AngularPayConfiguration configuration, MeterRegistry meterRegistry) {
+        return new ExponentialBackoffRetryPolicy(configuration, meterRegistry);
+    }
+}
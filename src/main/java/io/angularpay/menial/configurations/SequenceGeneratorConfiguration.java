@@ -0,0 +1,19 @@
+package io.angularpay.menial.configurations;
+
+import io.angularpay.menial.util.SequenceGenerator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+
+import javax.annotation.PostConstruct;
+
+@Configuration
+@RequiredArgsConstructor
+public class SequenceGeneratorConfiguration {
+
+    private final AngularPayConfiguration configuration;
+
+    @PostConstruct
+    public void configureNodeId() {
+        SequenceGenerator.setNodeId(configuration.getNodeId());
+    }
+}
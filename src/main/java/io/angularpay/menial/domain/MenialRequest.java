@@ -1,6 +1,7 @@
 
 package io.angularpay.menial.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -8,6 +9,9 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.List;
@@ -17,6 +21,13 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document("menial_requests")
+@CompoundIndexes({
+        @CompoundIndex(name = "created_on_id", def = "{'createdOn': -1, '_id': -1}"),
+        @CompoundIndex(name = "status_created_on", def = "{'status': 1, 'createdOn': -1}"),
+        @CompoundIndex(name = "service_client_created_on", def = "{'serviceClient.userReference': 1, 'createdOn': -1}"),
+        @CompoundIndex(name = "service_providers_user_reference", def = "{'serviceProviders.userReference': 1}"),
+        @CompoundIndex(name = "outbox_created_on", def = "{'outbox.createdOn': 1}", sparse = true)
+})
 public class MenialRequest {
 
     @Id
@@ -36,8 +47,13 @@ public class MenialRequest {
     private List<ServiceProvider> serviceProviders;
     @JsonProperty("last_modified")
     private String lastModified;
+    @Indexed(name = "reference", unique = true)
     private String reference;
     @JsonProperty("request_tag")
     private String requestTag;
     private RequestStatus status;
+    @JsonIgnore
+    private List<OutboxMessage> outbox;
+    @JsonIgnore
+    private OutboxLease outboxLease;
 }
@@ -0,0 +1,5 @@
+package io.angularpay.menial.domain;
+
+public enum OutboxChannel {
+    UPDATES, TTL, USER_NOTIFICATIONS
+}
@@ -0,0 +1,25 @@
+package io.angularpay.menial.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Claim of one relay on the outbox of a request. Nobody else relays the request before {@code until}, which is
+ * also how a failed relay backs off.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxLease {
+
+    private String owner;
+    private String token;
+    private Instant until;
+    private int attempts;
+    private String lastError;
+}
@@ -0,0 +1,34 @@
+package io.angularpay.menial.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * A message waiting to be relayed to REDIS. Pending messages live in the {@code outbox} of the request they
+ * describe, written by the same update as the change itself, and are relayed in array order. Messages that
+ * keep failing are moved to the menial_outbox collection as FAILED, where they expire after a retention period.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@Document("menial_outbox")
+public class OutboxMessage {
+
+    @Id
+    private String id;
+    private String requestReference;
+    private OutboxChannel channel;
+    private String payload;
+    private OutboxStatus status;
+    private int attempts;
+    private Instant createdOn;
+    private Instant failedOn;
+    private String lastError;
+}
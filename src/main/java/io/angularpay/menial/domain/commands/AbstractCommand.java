@@ -1,19 +1,33 @@
 package io.angularpay.menial.domain.commands;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.angularpay.menial.domain.MenialRequest;
+import io.angularpay.menial.domain.OutboxChannel;
+import io.angularpay.menial.domain.OutboxMessage;
 import io.angularpay.menial.domain.Role;
 import io.angularpay.menial.exceptions.CommandException;
 import io.angularpay.menial.exceptions.ErrorObject;
 import io.angularpay.menial.exceptions.ValidationException;
+import io.angularpay.menial.helpers.OutboxHelper;
+import io.angularpay.menial.helpers.PayloadLoggingHelper;
+import io.angularpay.menial.helpers.SerializationHelper;
 import io.angularpay.menial.models.AccessControl;
+import io.angularpay.menial.models.GenericCommandResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static io.angularpay.menial.exceptions.ErrorCode.*;
 import static io.angularpay.menial.helpers.Helper.*;
@@ -22,19 +36,49 @@ import static io.angularpay.menial.helpers.Helper.*;
 @Slf4j
 public abstract class AbstractCommand<T extends AccessControl, R> {
 
+    private static final String COMMAND_METRIC = "menial.command";
+    private static final String PHASE_METRIC = "menial.command.phase";
+
     protected final String name;
     protected final ObjectMapper mapper;
+    private OutboxHelper outboxHelper;
+    private SerializationHelper serializationHelper;
+    private PayloadLoggingHelper payloadLoggingHelper;
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    public void setOutboxHelper(OutboxHelper outboxHelper) {
+        this.outboxHelper = outboxHelper;
+    }
+
+    @Autowired
+    public void setSerializationHelper(SerializationHelper serializationHelper) {
+        this.serializationHelper = serializationHelper;
+    }
+
+    @Autowired
+    public void setPayloadLoggingHelper(PayloadLoggingHelper payloadLoggingHelper) {
+        this.payloadLoggingHelper = payloadLoggingHelper;
+    }
+
+    @Autowired
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
 
     public R execute(T request) {
+        Timer.Sample sample = Timer.start(this.meterRegistry);
+        String outcome = "error";
         try {
-            log.info("received {} request {}", this.name, maskAuthenticatedUser(mapper, request));
+            log.info("received {} request {}", this.name, this.payloadLoggingHelper.maskedPayload(this.name, request));
             log.info("validating {} request...", this.name);
 
-            List<ErrorObject> validationErrors = this.validate(request);
+            List<ErrorObject> validationErrors = this.timed("validation", () -> this.validate(request));
 
             if (!CollectionUtils.isEmpty(validationErrors)) {
+                outcome = "invalid";
                 log.info("{} request validation failed!", this.name);
-                log.info("validation errors: {}", writeAsStringOrDefault(mapper, validationErrors));
+                log.info("validation errors: {}", this.payloadLoggingHelper.payload(this.name, validationErrors));
                 ValidationException exception = new ValidationException(validationErrors);
                 throw CommandException.builder()
                         .status(resolveStatus(validationErrors))
@@ -44,15 +88,8 @@ public abstract class AbstractCommand<T extends AccessControl, R> {
                         .build();
             }
 
-            boolean hasPermittedRole = hasPermittedRole(this.permittedRoles(), request.getAuthenticatedUser().getRoles());
-
-            boolean isResourceOwner = false;
-            String resourceOwner = this.getResourceOwner(request);
-            if (!hasPermittedRole && StringUtils.hasText(resourceOwner) && StringUtils.hasText(request.getAuthenticatedUser().getUserReference())) {
-                isResourceOwner = request.getAuthenticatedUser().getUserReference().equalsIgnoreCase(resourceOwner);
-            }
-
-            if (!hasPermittedRole && !isResourceOwner) {
+            if (!this.timed("authorization", () -> this.isAuthorized(request))) {
+                outcome = "forbidden";
                 throw CommandException.builder()
                         .status(HttpStatus.FORBIDDEN)
                         .errorCode(AUTHORIZATION_ERROR)
@@ -60,31 +97,20 @@ public abstract class AbstractCommand<T extends AccessControl, R> {
                         .build();
             }
 
-            R response = this.handle(request);
+            R response = this.timed("handle", () -> this.handle(request));
             log.info("{} request successfully processed", this.name);
 
-            String responseText = writeAsStringOrDefault(mapper, response);
+            Object responsePayload = this.payloadLoggingHelper.payload(this.name, response);
 
-            if (this instanceof UpdatesPublisherCommand && response instanceof MenialRequestSupplier) {
-                log.info("publishing {} update to REDIS => message payload:  {}", this.name, responseText);
-                Executors.newSingleThreadExecutor().submit(() -> {
-                    ((UpdatesPublisherCommand)this).publishUpdates((MenialRequestSupplier)response);
-                });
-            }
-            if (this instanceof TTLPublisherCommand && response instanceof MenialRequestSupplier) {
-                log.info("publishing {} TTL to REDIS", this.name);
-                Executors.newSingleThreadExecutor().submit(() -> {
-                    ((TTLPublisherCommand)this).publishTTL((MenialRequestSupplier)response);
-                });
-            }
-            if (this instanceof UserNotificationsPublisherCommand && response instanceof MenialRequestSupplier) {
-                log.info("publishing {} User Notification to REDIS", this.name);
-                Executors.newSingleThreadExecutor().submit(() -> {
-                    ((UserNotificationsPublisherCommand)this).publishUserNotification((MenialRequestSupplier)response);
+            if (!menialRequestSuppliers(response).isEmpty()) {
+                this.timed("publish", () -> {
+                    this.outboxHelper.relaySoon(this.name);
+                    return null;
                 });
             }
 
-            log.info("returning {} response {}", this.name, responseText);
+            log.info("returning {} response {}", this.name, responsePayload);
+            outcome = "success";
             if (this instanceof ResourceReferenceCommand) {
                 return ((ResourceReferenceCommand<R, R>) this).map(response);
             } else {
@@ -102,7 +128,87 @@ public abstract class AbstractCommand<T extends AccessControl, R> {
                         .message(String.format("An error occurred while processing %s request", this.name))
                         .build();
             }
+        } finally {
+            sample.stop(this.meterRegistry.timer(COMMAND_METRIC, "command", this.name, "outcome", outcome));
+        }
+    }
+
+    private static List<? extends MenialRequestSupplier> menialRequestSuppliers(Object response) {
+        if (response instanceof MenialRequestSupplier) {
+            return Collections.singletonList((MenialRequestSupplier) response);
+        }
+        if (response instanceof MenialRequestsSupplier) {
+            return ((MenialRequestsSupplier) response).getMenialRequestSuppliers();
+        }
+        return Collections.emptyList();
+    }
+
+    private boolean isAuthorized(T request) {
+        boolean hasPermittedRole = hasPermittedRole(this.permittedRoles(), request.getAuthenticatedUser().getRoles());
+        if (hasPermittedRole) return true;
+
+        String resourceOwner = this.getResourceOwner(request);
+        return StringUtils.hasText(resourceOwner)
+                && StringUtils.hasText(request.getAuthenticatedUser().getUserReference())
+                && request.getAuthenticatedUser().getUserReference().equalsIgnoreCase(resourceOwner);
+    }
+
+    private <V> V timed(String phase, Supplier<V> supplier) {
+        Timer.Sample sample = Timer.start(this.meterRegistry);
+        String outcome = "error";
+        try {
+            V value = supplier.get();
+            outcome = "success";
+            return value;
+        } finally {
+            sample.stop(this.meterRegistry.timer(PHASE_METRIC, "command", this.name, "phase", phase, "outcome", outcome));
+        }
+    }
+
+    /**
+     * @return builds the REDIS messages announcing a state of the request, to be written to its outbox
+     * together with the change that leads to that state; if they cannot be built, the change fails too
+     */
+    protected Function<MenialRequest, List<OutboxMessage>> outbox(String itemReference) {
+        return menialRequest -> this.outboxMessages(GenericCommandResponse.builder()
+                .requestReference(menialRequest.getReference())
+                .itemReference(itemReference)
+                .menialRequest(menialRequest)
+                .build());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<OutboxMessage> outboxMessages(GenericCommandResponse response) {
+        List<OutboxMessage> messages = new ArrayList<>();
+        MenialRequest menialRequest = response.getMenialRequest();
+        String reference = menialRequest.getReference();
+        try {
+            if (this instanceof UpdatesPublisherCommand) {
+                log.info("queueing {} update for REDIS", this.name);
+                String message = ((UpdatesPublisherCommand<GenericCommandResponse>) this).convertToUpdatesMessage(menialRequest, response);
+                messages.add(this.outboxHelper.message(reference, OutboxChannel.UPDATES, message));
+            }
+            if (this instanceof TTLPublisherCommand) {
+                log.info("queueing {} TTL for REDIS", this.name);
+                String message = ((TTLPublisherCommand<GenericCommandResponse>) this).convertToTTLMessage(menialRequest, response);
+                messages.add(this.outboxHelper.message(reference, OutboxChannel.TTL, message));
+            }
+            if (this instanceof UserNotificationsPublisherCommand) {
+                log.info("queueing {} User Notification for REDIS", this.name);
+                String attributes = this.serializationHelper.toJsonString(menialRequest);
+                List<String> notifications = ((UserNotificationsPublisherCommand<GenericCommandResponse>) this).buildUserNotificationMessages(response, attributes);
+                notifications.forEach(message -> messages.add(this.outboxHelper.message(reference, OutboxChannel.USER_NOTIFICATIONS, message)));
+            }
+        } catch (JsonProcessingException exception) {
+            // the messages are written with the change, so failing here aborts the change rather than losing them
+            throw CommandException.builder()
+                    .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .errorCode(GENERIC_ERROR)
+                    .cause(exception)
+                    .message(String.format("An error occurred while building %s messages for REDIS", this.name))
+                    .build();
         }
+        return messages;
     }
 
     protected abstract String getResourceOwner(T request);
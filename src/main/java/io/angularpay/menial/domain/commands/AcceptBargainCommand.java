@@ -3,15 +3,16 @@ package io.angularpay.menial.domain.commands;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.angularpay.menial.adapters.outbound.MongoAdapter;
-import io.angularpay.menial.adapters.outbound.RedisAdapter;
 import io.angularpay.menial.domain.MenialRequest;
 import io.angularpay.menial.domain.Offer;
 import io.angularpay.menial.domain.OfferStatus;
 import io.angularpay.menial.domain.Role;
 import io.angularpay.menial.exceptions.ErrorObject;
 import io.angularpay.menial.helpers.CommandHelper;
+import io.angularpay.menial.helpers.CommandHelper.Change;
 import io.angularpay.menial.models.*;
 import io.angularpay.menial.validation.DefaultConstraintValidator;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
@@ -22,7 +23,10 @@ import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Supplier;
 
+import static io.angularpay.menial.helpers.CommandHelper.collectionItemPath;
+import static io.angularpay.menial.helpers.CommandHelper.collectionItemUpdate;
 import static io.angularpay.menial.helpers.CommandHelper.getRequestByReferenceOrThrow;
+import static io.angularpay.menial.helpers.CommandHelper.replaceOffer;
 import static io.angularpay.menial.helpers.CommandHelper.validRequestStatusAndBargainExists;
 import static io.angularpay.menial.helpers.Helper.getAllPartiesExceptInvestee;
 import static io.angularpay.menial.models.UserNotificationType.BARGAIN_ACCEPTED;
@@ -35,14 +39,12 @@ public class AcceptBargainCommand extends AbstractCommand<AcceptBargainCommandRe
     private final MongoAdapter mongoAdapter;
     private final DefaultConstraintValidator validator;
     private final CommandHelper commandHelper;
-    private final RedisAdapter redisAdapter;
 
-    public AcceptBargainCommand(ObjectMapper mapper, MongoAdapter mongoAdapter, DefaultConstraintValidator validator, CommandHelper commandHelper, RedisAdapter redisAdapter) {
+    public AcceptBargainCommand(ObjectMapper mapper, MongoAdapter mongoAdapter, DefaultConstraintValidator validator, CommandHelper commandHelper) {
         super("AcceptBargainCommand", mapper);
         this.mongoAdapter = mongoAdapter;
         this.validator = validator;
         this.commandHelper = commandHelper;
-        this.redisAdapter = redisAdapter;
     }
 
     @Override
@@ -55,18 +57,18 @@ public class AcceptBargainCommand extends AbstractCommand<AcceptBargainCommandRe
         MenialRequest found = getRequestByReferenceOrThrow(this.mongoAdapter, request.getRequestReference());
         validRequestStatusAndBargainExists(found, request.getBargainReference());
         Supplier<GenericCommandResponse> supplier = () -> acceptBargain(request);
-        return this.commandHelper.executeAcid(supplier);
+        return this.commandHelper.executeAcid(request.getRequestReference(), supplier);
     }
 
     private GenericCommandResponse acceptBargain(AcceptBargainCommandRequest request) {
         MenialRequest found = getRequestByReferenceOrThrow(this.mongoAdapter, request.getRequestReference());
-        found.getBargain().getOffers().forEach(x-> {
-            if (request.getBargainReference().equalsIgnoreCase(x.getReference())) {
-                x.setStatus(OfferStatus.ACCEPTED);
-            }
-        });
-        found.getBargain().setAcceptedBargainReference(request.getBargainReference());
-        MenialRequest response = this.mongoAdapter.updateRequest(found);
+        Update update = collectionItemUpdate(request.getBargainReference())
+                .set(collectionItemPath("bargain.offers", "status"), OfferStatus.ACCEPTED)
+                .set("bargain.acceptedBargainReference", request.getBargainReference());
+        MenialRequest response = this.commandHelper.updateCollectionItem(found, update, new Change(
+                menialRequest -> replaceOffer(menialRequest, request.getBargainReference(),
+                        x -> x.toBuilder().status(OfferStatus.ACCEPTED).build(), request.getBargainReference()),
+                this.outbox(request.getBargainReference())));
         return GenericCommandResponse.builder()
                 .requestReference(response.getReference())
                 .itemReference(request.getBargainReference())
@@ -85,13 +87,9 @@ public class AcceptBargainCommand extends AbstractCommand<AcceptBargainCommandRe
     }
 
     @Override
-    public String convertToUpdatesMessage(MenialRequest menialRequest) throws JsonProcessingException {
-        return this.commandHelper.toJsonString(menialRequest);
-    }
-
-    @Override
-    public RedisAdapter getRedisAdapter() {
-        return this.redisAdapter;
+    public String convertToUpdatesMessage(MenialRequest menialRequest, GenericCommandResponse commandResponse) throws JsonProcessingException {
+        return this.commandHelper.toUpdatesMessage(menialRequest, UpdateOperation.BARGAIN_ACCEPTED, "bargain",
+                menialRequest.getBargain());
     }
 
     @Override
@@ -121,9 +119,9 @@ public class AcceptBargainCommand extends AbstractCommand<AcceptBargainCommandRe
                 .requestReference(parameters.getCommandResponse().getRequestReference())
                 .bargainReference(parameters.getCommandResponse().getItemReference())
                 .build();
-        String payload = mapper.writeValueAsString(userNotificationInvestmentPayload);
+        String payload = this.commandHelper.toJsonString(userNotificationInvestmentPayload);
 
-        String attributes = mapper.writeValueAsString(parameters.getRequest());
+        String attributes = parameters.getAttributes();
 
         UserNotification userNotification = UserNotification.builder()
                 .reference(UUID.randomUUID().toString())
@@ -136,6 +134,6 @@ public class AcceptBargainCommand extends AbstractCommand<AcceptBargainCommandRe
                 .attributes(attributes)
                 .build();
 
-        return mapper.writeValueAsString(userNotification);
+        return this.commandHelper.toJsonString(userNotification);
     }
 }
@@ -3,13 +3,11 @@ package io.angularpay.menial.domain.commands;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.angularpay.menial.adapters.outbound.MongoAdapter;
-import io.angularpay.menial.adapters.outbound.RedisAdapter;
 import io.angularpay.menial.domain.*;
 import io.angularpay.menial.exceptions.ErrorObject;
 import io.angularpay.menial.helpers.CommandHelper;
 import io.angularpay.menial.models.*;
 import io.angularpay.menial.validation.DefaultConstraintValidator;
-import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
@@ -18,8 +16,9 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
-import java.util.function.Supplier;
 
+import static io.angularpay.menial.helpers.CommandHelper.appended;
+import static io.angularpay.menial.helpers.CommandHelper.findOffer;
 import static io.angularpay.menial.helpers.CommandHelper.getRequestByReferenceOrThrow;
 import static io.angularpay.menial.helpers.CommandHelper.validRequestStatusOrThrow;
 import static io.angularpay.menial.helpers.Helper.getAllPartiesExceptActor;
@@ -34,14 +33,12 @@ public class AddBargainCommand extends AbstractCommand<AddBargainCommandRequest,
     private final MongoAdapter mongoAdapter;
     private final DefaultConstraintValidator validator;
     private final CommandHelper commandHelper;
-    private final RedisAdapter redisAdapter;
 
-    public AddBargainCommand(ObjectMapper mapper, MongoAdapter mongoAdapter, DefaultConstraintValidator validator, CommandHelper commandHelper, RedisAdapter redisAdapter) {
+    public AddBargainCommand(ObjectMapper mapper, MongoAdapter mongoAdapter, DefaultConstraintValidator validator, CommandHelper commandHelper) {
         super("AddBargainCommand", mapper);
         this.mongoAdapter = mongoAdapter;
         this.validator = validator;
         this.commandHelper = commandHelper;
-        this.redisAdapter = redisAdapter;
     }
 
     @Override
@@ -53,15 +50,10 @@ public class AddBargainCommand extends AbstractCommand<AddBargainCommandRequest,
     protected GenericCommandResponse handle(AddBargainCommandRequest request) {
         MenialRequest found = getRequestByReferenceOrThrow(this.mongoAdapter, request.getRequestReference());
         validRequestStatusOrThrow(found);
-        Supplier<GenericCommandResponse> supplier = () -> addBargain(request);
-        return this.commandHelper.executeAcid(supplier);
+        return addBargain(found, request);
     }
 
-    private GenericCommandResponse addBargain(AddBargainCommandRequest request) throws OptimisticLockingFailureException {
-        MenialRequest found = getRequestByReferenceOrThrow(this.mongoAdapter, request.getRequestReference());
-        if (Objects.isNull(found.getBargain())) {
-            found.setBargain(Bargain.builder().build());
-        }
+    private GenericCommandResponse addBargain(MenialRequest found, AddBargainCommandRequest request) {
         Offer offer = Offer.builder()
                 .amount(Amount.builder()
                         .currency(request.getAddBargainApiModel().getCurrency())
@@ -73,8 +65,13 @@ public class AddBargainCommand extends AbstractCommand<AddBargainCommandRequest,
                 .createdOn(Instant.now().truncatedTo(ChronoUnit.SECONDS).toString())
                 .status(OfferStatus.PENDING)
                 .build();
-        Bargain bargain = found.getBargain();
-        MenialRequest response = this.commandHelper.addItemToCollection(found, offer, bargain::getOffers, bargain::setOffers);
+        MenialRequest response = this.commandHelper.addItemToCollection(found, "bargain.offers", offer, (menialRequest, item) -> {
+            Bargain bargain = Objects.isNull(menialRequest.getBargain()) ? new Bargain() : menialRequest.getBargain();
+            menialRequest.setBargain(Bargain.builder()
+                    .acceptedBargainReference(bargain.getAcceptedBargainReference())
+                    .offers(appended(bargain.getOffers(), item))
+                    .build());
+        }, this.outbox(offer.getReference()));
         return GenericCommandResponse.builder()
                 .requestReference(found.getReference())
                 .itemReference(offer.getReference())
@@ -93,13 +90,9 @@ public class AddBargainCommand extends AbstractCommand<AddBargainCommandRequest,
     }
 
     @Override
-    public String convertToUpdatesMessage(MenialRequest menialRequest) throws JsonProcessingException {
-        return this.commandHelper.toJsonString(menialRequest);
-    }
-
-    @Override
-    public RedisAdapter getRedisAdapter() {
-        return this.redisAdapter;
+    public String convertToUpdatesMessage(MenialRequest menialRequest, GenericCommandResponse commandResponse) throws JsonProcessingException {
+        return this.commandHelper.toUpdatesMessage(menialRequest, UpdateOperation.BARGAIN_ADDED, "bargain.offers",
+                findOffer(menialRequest, commandResponse.getItemReference()).orElse(null));
     }
 
     @Override
@@ -126,9 +119,9 @@ public class AddBargainCommand extends AbstractCommand<AddBargainCommandRequest,
                 .requestReference(parameters.getCommandResponse().getRequestReference())
                 .bargainReference(parameters.getCommandResponse().getItemReference())
                 .build();
-        String payload = mapper.writeValueAsString(userNotificationInvestmentPayload);
+        String payload = this.commandHelper.toJsonString(userNotificationInvestmentPayload);
 
-        String attributes = mapper.writeValueAsString(parameters.getRequest());
+        String attributes = parameters.getAttributes();
 
         UserNotification userNotification = UserNotification.builder()
                 .reference(UUID.randomUUID().toString())
@@ -141,7 +134,7 @@ public class AddBargainCommand extends AbstractCommand<AddBargainCommandRequest,
                 .attributes(attributes)
                 .build();
 
-        return mapper.writeValueAsString(userNotification);
+        return this.commandHelper.toJsonString(userNotification);
     }
 
     @Override
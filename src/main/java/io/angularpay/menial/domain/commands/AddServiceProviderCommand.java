@@ -3,14 +3,12 @@ package io.angularpay.menial.domain.commands;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.angularpay.menial.adapters.outbound.MongoAdapter;
-import io.angularpay.menial.adapters.outbound.RedisAdapter;
 import io.angularpay.menial.configurations.AngularPayConfiguration;
 import io.angularpay.menial.domain.*;
 import io.angularpay.menial.exceptions.ErrorObject;
 import io.angularpay.menial.helpers.CommandHelper;
 import io.angularpay.menial.models.*;
 import io.angularpay.menial.validation.DefaultConstraintValidator;
-import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.UriComponentsBuilder;
 
@@ -22,8 +20,9 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.function.Supplier;
 
+import static io.angularpay.menial.helpers.CommandHelper.appended;
+import static io.angularpay.menial.helpers.CommandHelper.findServiceProvider;
 import static io.angularpay.menial.helpers.CommandHelper.getRequestByReferenceOrThrow;
 import static io.angularpay.menial.helpers.CommandHelper.validRequestStatusOrThrow;
 import static io.angularpay.menial.helpers.Helper.getAllPartiesExceptActor;
@@ -40,15 +39,13 @@ public class AddServiceProviderCommand extends AbstractCommand<AddServiceProvide
     private final MongoAdapter mongoAdapter;
     private final DefaultConstraintValidator validator;
     private final CommandHelper commandHelper;
-    private final RedisAdapter redisAdapter;
     private final AngularPayConfiguration configuration;
 
-    public AddServiceProviderCommand(ObjectMapper mapper, MongoAdapter mongoAdapter, DefaultConstraintValidator validator, CommandHelper commandHelper, RedisAdapter redisAdapter, AngularPayConfiguration configuration) {
+    public AddServiceProviderCommand(ObjectMapper mapper, MongoAdapter mongoAdapter, DefaultConstraintValidator validator, CommandHelper commandHelper, AngularPayConfiguration configuration) {
         super("AddServiceProviderCommand", mapper);
         this.mongoAdapter = mongoAdapter;
         this.validator = validator;
         this.commandHelper = commandHelper;
-        this.redisAdapter = redisAdapter;
         this.configuration = configuration;
     }
 
@@ -61,12 +58,10 @@ public class AddServiceProviderCommand extends AbstractCommand<AddServiceProvide
     protected GenericCommandResponse handle(AddServiceProviderCommandRequest request) {
         MenialRequest found = getRequestByReferenceOrThrow(this.mongoAdapter, request.getRequestReference());
         validRequestStatusOrThrow(found);
-        Supplier<GenericCommandResponse> supplier = () -> addInvestor(request);
-        return this.commandHelper.executeAcid(supplier);
+        return addInvestor(found, request);
     }
 
-    private GenericCommandResponse addInvestor(AddServiceProviderCommandRequest request) throws OptimisticLockingFailureException {
-        MenialRequest found = getRequestByReferenceOrThrow(this.mongoAdapter, request.getRequestReference());
+    private GenericCommandResponse addInvestor(MenialRequest found, AddServiceProviderCommandRequest request) {
 
         ServiceProvider serviceProvider = ServiceProvider.builder()
                 .reference(UUID.randomUUID().toString())
@@ -81,7 +76,9 @@ public class AddServiceProviderCommand extends AbstractCommand<AddServiceProvide
                         .status(InvestmentTransactionStatus.PENDING)
                         .build())
                 .build();
-        MenialRequest response = this.commandHelper.addItemToCollection(found, serviceProvider, found::getServiceProviders, found::setServiceProviders);
+        MenialRequest response = this.commandHelper.addItemToCollection(found, "serviceProviders", serviceProvider,
+                (menialRequest, item) -> menialRequest.setServiceProviders(appended(menialRequest.getServiceProviders(), item)),
+                this.outbox(serviceProvider.getReference()));
         return GenericCommandResponse.builder()
                 .requestReference(found.getReference())
                 .itemReference(serviceProvider.getReference())
@@ -100,13 +97,9 @@ public class AddServiceProviderCommand extends AbstractCommand<AddServiceProvide
     }
 
     @Override
-    public String convertToUpdatesMessage(MenialRequest menialRequest) throws JsonProcessingException {
-        return this.commandHelper.toJsonString(menialRequest);
-    }
-
-    @Override
-    public RedisAdapter getRedisAdapter() {
-        return this.redisAdapter;
+    public String convertToUpdatesMessage(MenialRequest menialRequest, GenericCommandResponse commandResponse) throws JsonProcessingException {
+        return this.commandHelper.toUpdatesMessage(menialRequest, UpdateOperation.SERVICE_PROVIDER_ADDED, "service_providers",
+                findServiceProvider(menialRequest, x -> x.getReference().equalsIgnoreCase(commandResponse.getItemReference())).orElse(null));
     }
 
     @Override
@@ -159,9 +152,9 @@ public class AddServiceProviderCommand extends AbstractCommand<AddServiceProvide
                 .requestReference(parameters.getCommandResponse().getRequestReference())
                 .investmentReference(parameters.getCommandResponse().getItemReference())
                 .build();
-        String payload = mapper.writeValueAsString(userNotificationInvestmentPayload);
+        String payload = this.commandHelper.toJsonString(userNotificationInvestmentPayload);
 
-        String attributes = mapper.writeValueAsString(parameters.getRequest());
+        String attributes = parameters.getAttributes();
 
         UserNotification userNotification = UserNotification.builder()
                 .reference(UUID.randomUUID().toString())
@@ -174,7 +167,7 @@ public class AddServiceProviderCommand extends AbstractCommand<AddServiceProvide
                 .attributes(attributes)
                 .build();
 
-        return mapper.writeValueAsString(userNotification);
+        return this.commandHelper.toJsonString(userNotification);
     }
 
     @Override
@@ -0,0 +1,149 @@
+package io.angularpay.menial.domain.commands;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.angularpay.menial.configurations.AngularPayConfiguration;
+import io.angularpay.menial.domain.InvestmentStatus;
+import io.angularpay.menial.domain.InvestmentTransactionStatus;
+import io.angularpay.menial.domain.MenialRequest;
+import io.angularpay.menial.domain.Role;
+import io.angularpay.menial.exceptions.ErrorObject;
+import io.angularpay.menial.helpers.CommandHelper;
+import io.angularpay.menial.helpers.CommandHelper.BulkOutcome;
+import io.angularpay.menial.helpers.CommandHelper.BulkWrite;
+import io.angularpay.menial.helpers.CommandHelper.Change;
+import io.angularpay.menial.models.*;
+import io.angularpay.menial.validation.DefaultConstraintValidator;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import org.springframework.util.CollectionUtils;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static io.angularpay.menial.helpers.CommandHelper.*;
+
+/**
+ * Confirms payments across many investments in one call: items are checked against a single read of the
+ * affected requests, and the payable ones are written with one bulk update, see {@link CommandHelper#executeBulk}.
+ */
+@Service
+public class BulkMakePaymentCommand extends AbstractCommand<BulkMakePaymentCommandRequest, BulkCommandResponse>
+        implements UpdatesPublisherCommand<GenericCommandResponse> {
+
+    private static final String SERVICE_PROVIDERS = "serviceProviders";
+
+    private final DefaultConstraintValidator validator;
+    private final CommandHelper commandHelper;
+    private final MakePaymentCommand makePaymentCommand;
+    private final AngularPayConfiguration configuration;
+
+    public BulkMakePaymentCommand(
+            ObjectMapper mapper,
+            DefaultConstraintValidator validator,
+            CommandHelper commandHelper,
+            MakePaymentCommand makePaymentCommand,
+            AngularPayConfiguration configuration) {
+        super("BulkMakePaymentCommand", mapper);
+        this.validator = validator;
+        this.commandHelper = commandHelper;
+        this.makePaymentCommand = makePaymentCommand;
+        this.configuration = configuration;
+    }
+
+    @Override
+    protected String getResourceOwner(BulkMakePaymentCommandRequest request) {
+        return ""; // back-office only, see permittedRoles()
+    }
+
+    @Override
+    protected BulkCommandResponse handle(BulkMakePaymentCommandRequest request) {
+        List<BulkPaymentModel> payments = request.getPayments();
+        String transactionDatetime = Instant.now().truncatedTo(ChronoUnit.SECONDS).toString();
+        List<String> transactionReferences = payments.stream()
+                .map(payment -> UUID.randomUUID().toString())
+                .collect(Collectors.toList());
+
+        List<BulkOutcome> outcomes = this.commandHelper.executeBulk(payments.stream()
+                .map(BulkPaymentModel::getRequestReference)
+                .collect(Collectors.toList()), new BulkWrite() {
+            @Override
+            public void validate(MenialRequest current, int item) {
+                BulkPaymentModel payment = payments.get(item);
+                validRequestStatusAndInvestmentExists(current, payment.getInvestmentReference());
+                current.getServiceProviders().stream()
+                        .filter(x -> payment.getInvestmentReference().equalsIgnoreCase(x.getReference()))
+                        .forEach(CommandHelper::validInvestmentPendingOrThrow);
+            }
+
+            @Override
+            public Change change(Update update, String identifier, int item) {
+                BulkPaymentModel payment = payments.get(item);
+                InvestmentStatus investmentStatus = InvestmentStatus.builder()
+                        .transactionReference(transactionReferences.get(item))
+                        .transactionDatetime(transactionDatetime)
+                        .status(InvestmentTransactionStatus.SUCCESSFUL)
+                        .build();
+                update.filterArray(collectionItemFilter(identifier, payment.getInvestmentReference())
+                                .and(identifier + ".deleted").ne(true)
+                                .and(identifier + ".investmentStatus.status").ne(InvestmentTransactionStatus.SUCCESSFUL.name()))
+                        .set(collectionItemPath(SERVICE_PROVIDERS, identifier, "investmentStatus"), investmentStatus);
+                return new Change(menialRequest -> menialRequest.setServiceProviders(replaced(menialRequest.getServiceProviders(),
+                        x -> payment.getInvestmentReference().equalsIgnoreCase(x.getReference()),
+                        x -> x.toBuilder().investmentStatus(investmentStatus).build())),
+                        outbox(transactionReferences.get(item)));
+            }
+
+            @Override
+            public boolean applied(MenialRequest persisted, int item) {
+                String transactionReference = transactionReferences.get(item);
+                return findServiceProvider(persisted, x -> Objects.nonNull(x.getInvestmentStatus())
+                        && transactionReference.equals(x.getInvestmentStatus().getTransactionReference())).isPresent();
+            }
+        });
+
+        List<BulkItemResult> results = new ArrayList<>();
+        List<GenericCommandResponse> responses = new ArrayList<>();
+        for (int i = 0; i < payments.size(); i++) {
+            BulkPaymentModel payment = payments.get(i);
+            BulkOutcome outcome = outcomes.get(i);
+            if (!outcome.isSucceeded()) {
+                results.add(BulkItemResult.failed(payment.getRequestReference(), payment.getInvestmentReference(), outcome.getErrorCode()));
+                continue;
+            }
+            results.add(BulkItemResult.succeeded(payment.getRequestReference(), payment.getInvestmentReference(), transactionReferences.get(i)));
+            responses.add(GenericCommandResponse.builder()
+                    .requestReference(payment.getRequestReference())
+                    .itemReference(transactionReferences.get(i))
+                    .menialRequest(outcome.getMenialRequest())
+                    .build());
+        }
+
+        return BulkCommandResponse.builder()
+                .results(results)
+                .menialRequestSuppliers(responses)
+                .build();
+    }
+
+    @Override
+    protected List<ErrorObject> validate(BulkMakePaymentCommandRequest request) {
+        List<ErrorObject> errors = new ArrayList<>(this.validator.validate(request));
+        if (CollectionUtils.isEmpty(request.getPayments())) return errors;
+        errors.addAll(validateBulkItems(request.getPayments().stream()
+                .map(x -> x.getRequestReference() + "|" + x.getInvestmentReference())
+                .collect(Collectors.toList()), this.configuration.getBulk().getMaxItems()));
+        return errors;
+    }
+
+    @Override
+    protected List<Role> permittedRoles() {
+        return Arrays.asList(Role.ROLE_TRANSACTION_ADMIN, Role.ROLE_PLATFORM_ADMIN);
+    }
+
+    @Override
+    public String convertToUpdatesMessage(MenialRequest menialRequest, GenericCommandResponse commandResponse) throws JsonProcessingException {
+        return this.makePaymentCommand.convertToUpdatesMessage(menialRequest, commandResponse);
+    }
+}
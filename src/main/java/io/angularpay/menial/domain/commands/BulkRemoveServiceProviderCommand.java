@@ -0,0 +1,163 @@
+package io.angularpay.menial.domain.commands;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.angularpay.menial.configurations.AngularPayConfiguration;
+import io.angularpay.menial.domain.InvestmentTransactionStatus;
+import io.angularpay.menial.domain.MenialRequest;
+import io.angularpay.menial.domain.Role;
+import io.angularpay.menial.exceptions.ErrorObject;
+import io.angularpay.menial.helpers.CommandHelper;
+import io.angularpay.menial.helpers.CommandHelper.BulkOutcome;
+import io.angularpay.menial.helpers.CommandHelper.BulkWrite;
+import io.angularpay.menial.helpers.CommandHelper.Change;
+import io.angularpay.menial.models.*;
+import io.angularpay.menial.validation.DefaultConstraintValidator;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import org.springframework.util.CollectionUtils;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static io.angularpay.menial.helpers.CommandHelper.*;
+
+/**
+ * Removes many service providers in one call, e.g. when the TTL service expires a batch of them. Items are
+ * checked against a single read of the affected requests and written with one bulk update, see
+ * {@link CommandHelper#executeBulk}.
+ */
+@Service
+public class BulkRemoveServiceProviderCommand extends AbstractCommand<BulkRemoveServiceProviderCommandRequest, BulkCommandResponse>
+        implements UpdatesPublisherCommand<GenericCommandResponse>,
+        UserNotificationsPublisherCommand<GenericCommandResponse> {
+
+    private static final String SERVICE_PROVIDERS = "serviceProviders";
+
+    private final DefaultConstraintValidator validator;
+    private final CommandHelper commandHelper;
+    private final RemoveServiceProviderCommand removeServiceProviderCommand;
+    private final AngularPayConfiguration configuration;
+
+    public BulkRemoveServiceProviderCommand(
+            ObjectMapper mapper,
+            DefaultConstraintValidator validator,
+            CommandHelper commandHelper,
+            RemoveServiceProviderCommand removeServiceProviderCommand,
+            AngularPayConfiguration configuration) {
+        super("BulkRemoveServiceProviderCommand", mapper);
+        this.validator = validator;
+        this.commandHelper = commandHelper;
+        this.removeServiceProviderCommand = removeServiceProviderCommand;
+        this.configuration = configuration;
+    }
+
+    @Override
+    protected String getResourceOwner(BulkRemoveServiceProviderCommandRequest request) {
+        return ""; // back-office only, see permittedRoles()
+    }
+
+    @Override
+    protected BulkCommandResponse handle(BulkRemoveServiceProviderCommandRequest request) {
+        List<InvestmentReferenceModel> investments = request.getInvestments();
+        String deletedOn = Instant.now().truncatedTo(ChronoUnit.SECONDS).toString();
+
+        List<BulkOutcome> outcomes = this.commandHelper.executeBulk(investments.stream()
+                .map(InvestmentReferenceModel::getRequestReference)
+                .collect(Collectors.toList()), new BulkWrite() {
+            @Override
+            public void validate(MenialRequest current, int item) {
+                InvestmentReferenceModel investment = investments.get(item);
+                validRequestStatusAndInvestmentExists(current, investment.getInvestmentReference());
+                current.getServiceProviders().stream()
+                        .filter(x -> investment.getInvestmentReference().equalsIgnoreCase(x.getReference()))
+                        .forEach(CommandHelper::validInvestmentPendingOrThrow);
+            }
+
+            @Override
+            public Change change(Update update, String identifier, int item) {
+                InvestmentReferenceModel investment = investments.get(item);
+                // removed and paid investments are left alone, so an earlier removal is never overwritten
+                update.filterArray(collectionItemFilter(identifier, investment.getInvestmentReference())
+                                .and(identifier + ".deleted").ne(true)
+                                .and(identifier + ".investmentStatus.status").ne(InvestmentTransactionStatus.SUCCESSFUL.name()))
+                        .set(collectionItemPath(SERVICE_PROVIDERS, identifier, "deleted"), true)
+                        .set(collectionItemPath(SERVICE_PROVIDERS, identifier, "deletedOn"), deletedOn)
+                        .set(collectionItemPath(SERVICE_PROVIDERS, identifier, "deletedBy"), request.getDeletedBy());
+                return new Change(menialRequest -> menialRequest.setServiceProviders(replaced(menialRequest.getServiceProviders(),
+                        x -> investment.getInvestmentReference().equalsIgnoreCase(x.getReference()),
+                        x -> x.toBuilder().deleted(true).deletedOn(deletedOn).deletedBy(request.getDeletedBy()).build())),
+                        outbox(investment.getInvestmentReference()));
+            }
+
+            @Override
+            public boolean applied(MenialRequest persisted, int item) {
+                InvestmentReferenceModel investment = investments.get(item);
+                // only this call's write counts, not a removal that got there first
+                return findServiceProvider(persisted, x -> investment.getInvestmentReference().equalsIgnoreCase(x.getReference())
+                        && x.isDeleted()
+                        && deletedOn.equals(x.getDeletedOn())
+                        && Objects.equals(request.getDeletedBy(), x.getDeletedBy())).isPresent();
+            }
+        });
+
+        List<BulkItemResult> results = new ArrayList<>();
+        List<GenericCommandResponse> responses = new ArrayList<>();
+        for (int i = 0; i < investments.size(); i++) {
+            InvestmentReferenceModel investment = investments.get(i);
+            BulkOutcome outcome = outcomes.get(i);
+            if (!outcome.isSucceeded()) {
+                results.add(BulkItemResult.failed(investment.getRequestReference(), investment.getInvestmentReference(), outcome.getErrorCode()));
+                continue;
+            }
+            results.add(BulkItemResult.succeeded(investment.getRequestReference(), investment.getInvestmentReference(), investment.getInvestmentReference()));
+            responses.add(GenericCommandResponse.builder()
+                    .requestReference(investment.getRequestReference())
+                    .itemReference(investment.getInvestmentReference())
+                    .menialRequest(outcome.getMenialRequest())
+                    .build());
+        }
+
+        return BulkCommandResponse.builder()
+                .results(results)
+                .menialRequestSuppliers(responses)
+                .build();
+    }
+
+    @Override
+    protected List<ErrorObject> validate(BulkRemoveServiceProviderCommandRequest request) {
+        List<ErrorObject> errors = new ArrayList<>(this.validator.validate(request));
+        if (CollectionUtils.isEmpty(request.getInvestments())) return errors;
+        errors.addAll(validateBulkItems(request.getInvestments().stream()
+                .map(x -> x.getRequestReference() + "|" + x.getInvestmentReference())
+                .collect(Collectors.toList()), this.configuration.getBulk().getMaxItems()));
+        return errors;
+    }
+
+    @Override
+    protected List<Role> permittedRoles() {
+        return Arrays.asList(Role.ROLE_SERVICE_ACCOUNT, Role.ROLE_PLATFORM_ADMIN);
+    }
+
+    @Override
+    public String convertToUpdatesMessage(MenialRequest menialRequest, GenericCommandResponse commandResponse) throws JsonProcessingException {
+        return this.removeServiceProviderCommand.convertToUpdatesMessage(menialRequest, commandResponse);
+    }
+
+    @Override
+    public UserNotificationType getUserNotificationType(GenericCommandResponse commandResponse) {
+        return this.removeServiceProviderCommand.getUserNotificationType(commandResponse);
+    }
+
+    @Override
+    public List<String> getAudience(GenericCommandResponse commandResponse) {
+        return this.removeServiceProviderCommand.getAudience(commandResponse);
+    }
+
+    @Override
+    public String convertToUserNotificationsMessage(UserNotificationBuilderParameters<GenericCommandResponse, MenialRequest> parameters) throws JsonProcessingException {
+        return this.removeServiceProviderCommand.convertToUserNotificationsMessage(parameters);
+    }
+}
@@ -2,8 +2,6 @@ package io.angularpay.menial.domain.commands;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import io.angularpay.menial.adapters.outbound.MongoAdapter;
-import io.angularpay.menial.adapters.outbound.RedisAdapter;
 import io.angularpay.menial.domain.MenialRequest;
 import io.angularpay.menial.domain.Role;
 import io.angularpay.menial.domain.ServiceClient;
@@ -13,6 +11,7 @@ import io.angularpay.menial.models.CreateRequestCommandRequest;
 import io.angularpay.menial.models.GenericCommandResponse;
 import io.angularpay.menial.models.GenericReferenceResponse;
 import io.angularpay.menial.models.ResourceReferenceResponse;
+import io.angularpay.menial.models.UpdateOperation;
 import io.angularpay.menial.validation.DefaultConstraintValidator;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -28,17 +27,13 @@ public class CreateRequestCommand extends AbstractCommand<CreateRequestCommandRe
         implements UpdatesPublisherCommand<GenericCommandResponse>,
         ResourceReferenceCommand<GenericCommandResponse, ResourceReferenceResponse> {
 
-    private final MongoAdapter mongoAdapter;
     private final DefaultConstraintValidator validator;
     private final CommandHelper commandHelper;
-    private final RedisAdapter redisAdapter;
 
-    public CreateRequestCommand(ObjectMapper mapper, MongoAdapter mongoAdapter, DefaultConstraintValidator validator, CommandHelper commandHelper, RedisAdapter redisAdapter) {
+    public CreateRequestCommand(ObjectMapper mapper, DefaultConstraintValidator validator, CommandHelper commandHelper) {
         super("CreateRequestCommand", mapper);
-        this.mongoAdapter = mongoAdapter;
         this.validator = validator;
         this.commandHelper = commandHelper;
-        this.redisAdapter = redisAdapter;
     }
 
     @Override
@@ -56,7 +51,7 @@ public class CreateRequestCommand extends AbstractCommand<CreateRequestCommandRe
                         .userReference(request.getAuthenticatedUser().getUserReference())
                         .build())
                 .build();
-        MenialRequest response = this.mongoAdapter.createRequest(withOtherDetails);
+        MenialRequest response = this.commandHelper.createRequest(withOtherDetails, this.outbox(null));
         return GenericCommandResponse.builder()
                 .requestReference(response.getReference())
                 .menialRequest(response)
@@ -74,13 +69,8 @@ public class CreateRequestCommand extends AbstractCommand<CreateRequestCommandRe
     }
 
     @Override
-    public String convertToUpdatesMessage(MenialRequest menialRequest) throws JsonProcessingException {
-        return this.commandHelper.toJsonString(menialRequest);
-    }
-
-    @Override
-    public RedisAdapter getRedisAdapter() {
-        return this.redisAdapter;
+    public String convertToUpdatesMessage(MenialRequest menialRequest, GenericCommandResponse commandResponse) throws JsonProcessingException {
+        return this.commandHelper.toUpdatesMessage(menialRequest, UpdateOperation.REQUEST_CREATED, null, menialRequest);
     }
 
     @Override
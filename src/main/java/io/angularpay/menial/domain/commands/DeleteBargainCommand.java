@@ -3,14 +3,16 @@ package io.angularpay.menial.domain.commands;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.angularpay.menial.adapters.outbound.MongoAdapter;
-import io.angularpay.menial.adapters.outbound.RedisAdapter;
 import io.angularpay.menial.domain.MenialRequest;
 import io.angularpay.menial.domain.Role;
 import io.angularpay.menial.exceptions.ErrorObject;
 import io.angularpay.menial.helpers.CommandHelper;
+import io.angularpay.menial.helpers.CommandHelper.Change;
 import io.angularpay.menial.models.DeleteBargainCommandRequest;
 import io.angularpay.menial.models.GenericCommandResponse;
+import io.angularpay.menial.models.UpdateOperation;
 import io.angularpay.menial.validation.DefaultConstraintValidator;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
@@ -19,7 +21,10 @@ import java.util.Collections;
 import java.util.List;
 import java.util.function.Supplier;
 
+import static io.angularpay.menial.helpers.CommandHelper.collectionItemPath;
+import static io.angularpay.menial.helpers.CommandHelper.collectionItemUpdate;
 import static io.angularpay.menial.helpers.CommandHelper.getRequestByReferenceOrThrow;
+import static io.angularpay.menial.helpers.CommandHelper.replaceOffer;
 import static io.angularpay.menial.helpers.CommandHelper.validRequestStatusAndBargainExists;
 
 @Service
@@ -29,14 +34,12 @@ public class DeleteBargainCommand extends AbstractCommand<DeleteBargainCommandRe
     private final MongoAdapter mongoAdapter;
     private final DefaultConstraintValidator validator;
     private final CommandHelper commandHelper;
-    private final RedisAdapter redisAdapter;
 
-    public DeleteBargainCommand(ObjectMapper mapper, MongoAdapter mongoAdapter, DefaultConstraintValidator validator, CommandHelper commandHelper, RedisAdapter redisAdapter) {
+    public DeleteBargainCommand(ObjectMapper mapper, MongoAdapter mongoAdapter, DefaultConstraintValidator validator, CommandHelper commandHelper) {
         super("DeleteBargainCommand", mapper);
         this.mongoAdapter = mongoAdapter;
         this.validator = validator;
         this.commandHelper = commandHelper;
-        this.redisAdapter = redisAdapter;
     }
 
     @Override
@@ -49,23 +52,27 @@ public class DeleteBargainCommand extends AbstractCommand<DeleteBargainCommandRe
         MenialRequest found = getRequestByReferenceOrThrow(this.mongoAdapter, request.getRequestReference());
         validRequestStatusAndBargainExists(found, request.getBargainReference());
         Supplier<GenericCommandResponse> supplier = () -> deleteBargain(request);
-        return this.commandHelper.executeAcid(supplier);
+        return this.commandHelper.executeAcid(request.getRequestReference(), supplier);
     }
 
     private GenericCommandResponse deleteBargain(DeleteBargainCommandRequest request) {
         MenialRequest found = getRequestByReferenceOrThrow(this.mongoAdapter, request.getRequestReference());
-        found.getBargain().getOffers().forEach(x-> {
-            if (request.getBargainReference().equalsIgnoreCase(x.getReference())) {
-                x.setDeleted(true);
-                x.setDeletedOn(Instant.now().truncatedTo(ChronoUnit.SECONDS).toString());
-            }
-        });
-        if (request.getBargainReference().equalsIgnoreCase(found.getBargain().getAcceptedBargainReference())) {
-            found.getBargain().setAcceptedBargainReference(null);
+        String deletedOn = Instant.now().truncatedTo(ChronoUnit.SECONDS).toString();
+        Update update = collectionItemUpdate(request.getBargainReference())
+                .set(collectionItemPath("bargain.offers", "deleted"), true)
+                .set(collectionItemPath("bargain.offers", "deletedOn"), deletedOn);
+        String acceptedBargainReference = found.getBargain().getAcceptedBargainReference();
+        if (request.getBargainReference().equalsIgnoreCase(acceptedBargainReference)) {
+            update.unset("bargain.acceptedBargainReference");
+            acceptedBargainReference = null;
         }
-        MenialRequest response = this.mongoAdapter.updateRequest(found);
+        String accepted = acceptedBargainReference;
+        MenialRequest response = this.commandHelper.updateCollectionItem(found, update, new Change(
+                menialRequest -> replaceOffer(menialRequest, request.getBargainReference(), x -> x.toBuilder().deleted(true).deletedOn(deletedOn).build(), accepted),
+                this.outbox(request.getBargainReference())));
         return GenericCommandResponse.builder()
                 .requestReference(response.getReference())
+                .itemReference(request.getBargainReference())
                 .menialRequest(response)
                 .build();
     }
@@ -81,12 +88,8 @@ public class DeleteBargainCommand extends AbstractCommand<DeleteBargainCommandRe
     }
 
     @Override
-    public String convertToUpdatesMessage(MenialRequest menialRequest) throws JsonProcessingException {
-        return this.commandHelper.toJsonString(menialRequest);
-    }
-
-    @Override
-    public RedisAdapter getRedisAdapter() {
-        return this.redisAdapter;
+    public String convertToUpdatesMessage(MenialRequest menialRequest, GenericCommandResponse commandResponse) throws JsonProcessingException {
+        return this.commandHelper.toUpdatesMessage(menialRequest, UpdateOperation.BARGAIN_DELETED, "bargain",
+                menialRequest.getBargain());
     }
 }
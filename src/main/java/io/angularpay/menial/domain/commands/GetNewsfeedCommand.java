@@ -5,14 +5,19 @@ import io.angularpay.menial.adapters.outbound.MongoAdapter;
 import io.angularpay.menial.domain.MenialRequest;
 import io.angularpay.menial.domain.Role;
 import io.angularpay.menial.exceptions.ErrorObject;
+import io.angularpay.menial.models.Cursor;
 import io.angularpay.menial.models.GenericGetRequestListCommandRequest;
 import io.angularpay.menial.validation.DefaultConstraintValidator;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+
+import static io.angularpay.menial.helpers.CommandHelper.validateCursor;
 
 @Service
 public class GetNewsfeedCommand extends AbstractCommand<GenericGetRequestListCommandRequest, List<MenialRequest>> {
@@ -36,13 +41,19 @@ public class GetNewsfeedCommand extends AbstractCommand<GenericGetRequestListCom
 
     @Override
     protected List<MenialRequest> handle(GenericGetRequestListCommandRequest request) {
+        if (Objects.nonNull(request.getPaging().getCursor())) {
+            Cursor cursor = Cursor.decode(request.getPaging().getCursor()).orElse(null);
+            return this.mongoAdapter.listRequestsAfter(cursor, request.getPaging().getSize());
+        }
         Pageable pageable = PageRequest.of(request.getPaging().getIndex(), request.getPaging().getSize());
         return this.mongoAdapter.listRequests(pageable).getContent();
     }
 
     @Override
     protected List<ErrorObject> validate(GenericGetRequestListCommandRequest request) {
-        return this.validator.validate(request);
+        List<ErrorObject> errors = new ArrayList<>(this.validator.validate(request));
+        errors.addAll(validateCursor(request.getPaging()));
+        return errors;
     }
 
     @Override
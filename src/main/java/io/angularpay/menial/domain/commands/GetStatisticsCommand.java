@@ -1,10 +1,10 @@
 package io.angularpay.menial.domain.commands;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import io.angularpay.menial.adapters.outbound.MongoAdapter;
 import io.angularpay.menial.domain.RequestStatus;
 import io.angularpay.menial.domain.Role;
 import io.angularpay.menial.exceptions.ErrorObject;
+import io.angularpay.menial.helpers.StatisticsHelper;
 import io.angularpay.menial.models.GetStatisticsCommandRequest;
 import io.angularpay.menial.models.Statistics;
 import org.springframework.stereotype.Service;
@@ -17,11 +17,11 @@ import java.util.List;
 @Service
 public class GetStatisticsCommand extends AbstractCommand<GetStatisticsCommandRequest, List<Statistics>> {
 
-    private final MongoAdapter mongoAdapter;
+    private final StatisticsHelper statisticsHelper;
 
-    public GetStatisticsCommand(ObjectMapper mapper, MongoAdapter mongoAdapter) {
+    public GetStatisticsCommand(ObjectMapper mapper, StatisticsHelper statisticsHelper) {
         super("GetStatisticsCommand", mapper);
-        this.mongoAdapter = mongoAdapter;
+        this.statisticsHelper = statisticsHelper;
     }
 
     @Override
@@ -32,35 +32,31 @@ public class GetStatisticsCommand extends AbstractCommand<GetStatisticsCommandRe
     @Override
     protected List<Statistics> handle(GetStatisticsCommandRequest request) {
         List<Statistics> statistics = new ArrayList<>();
+        StatisticsHelper.Snapshot snapshot = this.statisticsHelper.getSnapshot();
 
-        long total = this.mongoAdapter.getTotalCount();
         statistics.add(Statistics.builder()
                 .name("Total")
-                .value(String.valueOf(total))
+                .value(String.valueOf(snapshot.getTotal()))
                 .build());
 
-        long active = this.mongoAdapter.getCountByRequestStatus(RequestStatus.ACTIVE);
         statistics.add(Statistics.builder()
                 .name("Active")
-                .value(String.valueOf(active))
+                .value(String.valueOf(snapshot.getCount(RequestStatus.ACTIVE)))
                 .build());
 
-        long inactive = this.mongoAdapter.getCountByRequestStatus(RequestStatus.INACTIVE);
         statistics.add(Statistics.builder()
                 .name("Inactive")
-                .value(String.valueOf(inactive))
+                .value(String.valueOf(snapshot.getCount(RequestStatus.INACTIVE)))
                 .build());
 
-        long completed = this.mongoAdapter.getCountByRequestStatus(RequestStatus.COMPLETED);
         statistics.add(Statistics.builder()
                 .name("Completed")
-                .value(String.valueOf(completed))
+                .value(String.valueOf(snapshot.getCount(RequestStatus.COMPLETED)))
                 .build());
 
-        long cancelled = this.mongoAdapter.getCountByRequestStatus(RequestStatus.CANCELLED);
         statistics.add(Statistics.builder()
                 .name("Cancelled")
-                .value(String.valueOf(cancelled))
+                .value(String.valueOf(snapshot.getCount(RequestStatus.CANCELLED)))
                 .build());
 
         return statistics;
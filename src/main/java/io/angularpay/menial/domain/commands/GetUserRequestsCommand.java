@@ -35,7 +35,7 @@ public class GetUserRequestsCommand extends AbstractCommand<GetUserRequestsComma
     @Override
     protected List<UserRequestModel> handle(GetUserRequestsCommandRequest request) {
         Pageable pageable = PageRequest.of(request.getPaging().getIndex(), request.getPaging().getSize());
-        return this.mongoAdapter.findByServiceClientUserReference(pageable, request.getAuthenticatedUser().getUserReference())
+        return this.mongoAdapter.findRequestSummariesByServiceClientUserReference(pageable, request.getAuthenticatedUser().getUserReference())
                 .getContent().stream()
                 .map(x -> UserRequestModel.builder()
                         .requestReference(x.getReference())
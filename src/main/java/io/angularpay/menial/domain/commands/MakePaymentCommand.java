@@ -3,19 +3,19 @@ package io.angularpay.menial.domain.commands;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.angularpay.menial.adapters.outbound.MongoAdapter;
-import io.angularpay.menial.adapters.outbound.RedisAdapter;
 import io.angularpay.menial.domain.InvestmentStatus;
 import io.angularpay.menial.domain.InvestmentTransactionStatus;
 import io.angularpay.menial.domain.MenialRequest;
 import io.angularpay.menial.domain.Role;
-import io.angularpay.menial.exceptions.CommandException;
 import io.angularpay.menial.exceptions.ErrorObject;
 import io.angularpay.menial.helpers.CommandHelper;
+import io.angularpay.menial.helpers.CommandHelper.Change;
 import io.angularpay.menial.models.GenericCommandResponse;
 import io.angularpay.menial.models.MakePaymentCommandRequest;
 import io.angularpay.menial.models.ResourceReferenceResponse;
+import io.angularpay.menial.models.UpdateOperation;
 import io.angularpay.menial.validation.DefaultConstraintValidator;
-import org.springframework.http.HttpStatus;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
@@ -26,9 +26,12 @@ import java.util.Objects;
 import java.util.UUID;
 import java.util.function.Supplier;
 
-import static io.angularpay.menial.exceptions.ErrorCode.REQUEST_COMPLETED_ERROR;
-import static io.angularpay.menial.exceptions.ErrorCode.REQUEST_REMOVED_ERROR;
+import static io.angularpay.menial.helpers.CommandHelper.findServiceProvider;
+import static io.angularpay.menial.helpers.CommandHelper.collectionItemPath;
+import static io.angularpay.menial.helpers.CommandHelper.collectionItemUpdate;
 import static io.angularpay.menial.helpers.CommandHelper.getRequestByReferenceOrThrow;
+import static io.angularpay.menial.helpers.CommandHelper.replaced;
+import static io.angularpay.menial.helpers.CommandHelper.validInvestmentPendingOrThrow;
 import static io.angularpay.menial.helpers.CommandHelper.validRequestStatusAndInvestmentExists;
 
 @Service
@@ -39,14 +42,12 @@ public class MakePaymentCommand extends AbstractCommand<MakePaymentCommandReques
     private final MongoAdapter mongoAdapter;
     private final DefaultConstraintValidator validator;
     private final CommandHelper commandHelper;
-    private final RedisAdapter redisAdapter;
 
-    public MakePaymentCommand(ObjectMapper mapper, MongoAdapter mongoAdapter, DefaultConstraintValidator validator, CommandHelper commandHelper, RedisAdapter redisAdapter) {
+    public MakePaymentCommand(ObjectMapper mapper, MongoAdapter mongoAdapter, DefaultConstraintValidator validator, CommandHelper commandHelper) {
         super("MakePaymentCommand", mapper);
         this.mongoAdapter = mongoAdapter;
         this.validator = validator;
         this.commandHelper = commandHelper;
-        this.redisAdapter = redisAdapter;
     }
 
     @Override
@@ -60,39 +61,31 @@ public class MakePaymentCommand extends AbstractCommand<MakePaymentCommandReques
         String investmentReference = request.getInvestmentReference();
         validRequestStatusAndInvestmentExists(found, investmentReference);
         Supplier<GenericCommandResponse> supplier = () -> makePayment(request);
-        return this.commandHelper.executeAcid(supplier);
+        return this.commandHelper.executeAcid(request.getRequestReference(), supplier);
     }
 
     private GenericCommandResponse makePayment(MakePaymentCommandRequest request) {
         MenialRequest found = getRequestByReferenceOrThrow(this.mongoAdapter, request.getRequestReference());
         String transactionReference = UUID.randomUUID().toString();
+        Update update = collectionItemUpdate(request.getInvestmentReference());
+        // TODO: integrate with transaction service
+        //  all of these details should come from transaction service
+        InvestmentStatus investmentStatus = InvestmentStatus.builder()
+                .transactionReference(transactionReference)
+                .transactionDatetime(Instant.now().truncatedTo(ChronoUnit.SECONDS).toString())
+                .status(InvestmentTransactionStatus.SUCCESSFUL)
+                .build();
         found.getServiceProviders().forEach(x -> {
             if (request.getInvestmentReference().equalsIgnoreCase(x.getReference())) {
-                if (x.isDeleted()) {
-                    throw CommandException.builder()
-                            .status(HttpStatus.UNPROCESSABLE_ENTITY)
-                            .errorCode(REQUEST_REMOVED_ERROR)
-                            .message(REQUEST_REMOVED_ERROR.getDefaultMessage())
-                            .build();
-                }
-                if (Objects.nonNull(x.getInvestmentStatus()) && x.getInvestmentStatus().getStatus() == InvestmentTransactionStatus.SUCCESSFUL) {
-                    throw CommandException.builder()
-                            .status(HttpStatus.UNPROCESSABLE_ENTITY)
-                            .errorCode(REQUEST_COMPLETED_ERROR)
-                            .message(REQUEST_COMPLETED_ERROR.getDefaultMessage())
-                            .build();
-                }
-                if (Objects.isNull(x.getInvestmentStatus())) {
-                    x.setInvestmentStatus(InvestmentStatus.builder().status(InvestmentTransactionStatus.PENDING).build());
-                }
-                // TODO: integrate with transaction service
-                //  all of these details should come from transaction service
-                x.getInvestmentStatus().setTransactionReference(transactionReference);
-                x.getInvestmentStatus().setTransactionDatetime(Instant.now().truncatedTo(ChronoUnit.SECONDS).toString());
-                x.getInvestmentStatus().setStatus(InvestmentTransactionStatus.SUCCESSFUL);
+                validInvestmentPendingOrThrow(x);
+                update.set(collectionItemPath("serviceProviders", "investmentStatus"), investmentStatus);
             }
         });
-        MenialRequest response = this.mongoAdapter.updateRequest(found);
+        MenialRequest response = this.commandHelper.updateCollectionItem(found, update, new Change(
+                menialRequest -> menialRequest.setServiceProviders(replaced(menialRequest.getServiceProviders(),
+                        x -> request.getInvestmentReference().equalsIgnoreCase(x.getReference()),
+                        x -> x.toBuilder().investmentStatus(investmentStatus).build())),
+                this.outbox(transactionReference)));
         return GenericCommandResponse.builder()
                 .requestReference(response.getReference())
                 .itemReference(transactionReference)
@@ -111,13 +104,10 @@ public class MakePaymentCommand extends AbstractCommand<MakePaymentCommandReques
     }
 
     @Override
-    public String convertToUpdatesMessage(MenialRequest menialRequest) throws JsonProcessingException {
-        return this.commandHelper.toJsonString(menialRequest);
-    }
-
-    @Override
-    public RedisAdapter getRedisAdapter() {
-        return this.redisAdapter;
+    public String convertToUpdatesMessage(MenialRequest menialRequest, GenericCommandResponse commandResponse) throws JsonProcessingException {
+        return this.commandHelper.toUpdatesMessage(menialRequest, UpdateOperation.PAYMENT_MADE, "service_providers",
+                findServiceProvider(menialRequest, x -> Objects.nonNull(x.getInvestmentStatus())
+                        && commandResponse.getItemReference().equalsIgnoreCase(x.getInvestmentStatus().getTransactionReference())).orElse(null));
     }
 
     @Override
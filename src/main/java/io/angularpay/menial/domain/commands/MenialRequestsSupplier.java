@@ -0,0 +1,7 @@
+package io.angularpay.menial.domain.commands;
+
+import java.util.List;
+
+public interface MenialRequestsSupplier {
+    List<? extends MenialRequestSupplier> getMenialRequestSuppliers();
+}
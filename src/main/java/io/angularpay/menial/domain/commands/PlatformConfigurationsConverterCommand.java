@@ -3,6 +3,7 @@ package io.angularpay.menial.domain.commands;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.angularpay.menial.exceptions.CommandException;
+import io.angularpay.menial.helpers.PlatformConfigurationsHelper;
 import io.angularpay.menial.models.platform.*;
 import io.angularpay.menial.ports.outbound.OutboundMessagingPort;
 import lombok.extern.slf4j.Slf4j;
@@ -10,8 +11,12 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 
 import static io.angularpay.menial.exceptions.ErrorCode.INVALID_MESSAGE_ERROR;
 import static io.angularpay.menial.models.platform.PlatformConfigurationSource.HASH;
@@ -20,14 +25,14 @@ import static io.angularpay.menial.models.platform.PlatformConfigurationSource.H
 @Service
 public class PlatformConfigurationsConverterCommand {
 
-    private final PlatformConfigurations platformConfigurations;
+    private final PlatformConfigurationsHelper platformConfigurationsHelper;
     private final ObjectMapper mapper;
 
     public PlatformConfigurationsConverterCommand(
-            PlatformConfigurations platformConfigurations,
+            PlatformConfigurationsHelper platformConfigurationsHelper,
             ObjectMapper mapper,
             OutboundMessagingPort outboundMessagingPort) {
-        this.platformConfigurations = platformConfigurations;
+        this.platformConfigurationsHelper = platformConfigurationsHelper;
         this.mapper = mapper;
 
         log.info("reading platform configurations from message hash...");
@@ -53,46 +58,56 @@ public class PlatformConfigurationsConverterCommand {
                 case PLATFORM_BANKS:
                     List<PlatformBank> platformBanks = mapper.readValue(message, new TypeReference<>() {
                     });
-                    this.platformConfigurations.setPlatformBanks(platformBanks);
+                    this.platformConfigurationsHelper.update(builder -> builder
+                            .platformBanks(immutable(platformBanks))
+                            .banksByReference(index(platformBanks, PlatformBank::getReference)));
                     break;
                 case PLATFORM_COUNTRIES:
                     List<PlatformCountry> platformCountries = mapper.readValue(message, new TypeReference<>() {
                     });
-                    this.platformConfigurations.setPlatformCountries(platformCountries);
+                    this.platformConfigurationsHelper.update(builder -> builder
+                            .platformCountries(immutable(platformCountries))
+                            .countriesByCode(index(platformCountries, PlatformCountry::getCode)));
                     break;
                 case PLATFORM_COUNTRY_FEATURES:
                     List<PlatformCountryFeature> platformCountryFeatures = mapper.readValue(message, new TypeReference<>() {
                     });
-                    this.platformConfigurations.setPlatformCountryFeatures(platformCountryFeatures);
+                    this.platformConfigurationsHelper.update(builder -> builder
+                            .platformCountryFeatures(immutable(platformCountryFeatures))
+                            .countryFeaturesByCountryReference(index(platformCountryFeatures, PlatformCountryFeature::getCountryReference)));
                     break;
                 case PLATFORM_CURRENCIES:
                     List<PlatformCurrency> platformCurrencies = mapper.readValue(message, new TypeReference<>() {
                     });
-                    this.platformConfigurations.setPlatformCurrencies(platformCurrencies);
+                    this.platformConfigurationsHelper.update(builder -> builder
+                            .platformCurrencies(immutable(platformCurrencies))
+                            .currenciesByCode(index(platformCurrencies, PlatformCurrency::getCode)));
                     break;
                 case PLATFORM_MATURITY_CONFIGURATIONS:
                     List<PlatformMaturityConfiguration> platformMaturityConfigurations = mapper.readValue(message, new TypeReference<>() {
                     });
-                    this.platformConfigurations.setPlatformMaturityConfigurations(platformMaturityConfigurations);
+                    this.platformConfigurationsHelper.update(builder -> builder.platformMaturityConfigurations(immutable(platformMaturityConfigurations)));
                     break;
                 case PLATFORM_NOTIFICATION_TYPES:
                     List<PlatformNotificationType> platformNotificationTypes = mapper.readValue(message, new TypeReference<>() {
                     });
-                    this.platformConfigurations.setPlatformNotificationTypes(platformNotificationTypes);
+                    this.platformConfigurationsHelper.update(builder -> builder.platformNotificationTypes(immutable(platformNotificationTypes)));
                     break;
                 case PLATFORM_OTP_TYPES:
                     List<PlatformOTPType> platformOTPTypes = mapper.readValue(message, new TypeReference<>() {
                     });
-                    this.platformConfigurations.setPlatformOTPTypes(platformOTPTypes);
+                    this.platformConfigurationsHelper.update(builder -> builder.platformOTPTypes(immutable(platformOTPTypes)));
                     break;
                 case PLATFORM_SERVICES:
                     List<PlatformService> platformServices = mapper.readValue(message, new TypeReference<>() {
                     });
-                    this.platformConfigurations.setPlatformServices(platformServices);
+                    this.platformConfigurationsHelper.update(builder -> builder
+                            .platformServices(immutable(platformServices))
+                            .servicesByCode(index(platformServices, PlatformService::getCode)));
                     break;
                 case PLATFORM_TTL_CONFIGURATION:
                     PlatformTTLConfiguration platformTTLConfiguration = mapper.readValue(message, PlatformTTLConfiguration.class);
-                    this.platformConfigurations.setPlatformTTLConfiguration(platformTTLConfiguration);
+                    this.platformConfigurationsHelper.update(builder -> builder.platformTTLConfiguration(platformTTLConfiguration));
                     break;
             }
         } catch (Exception exception) {
@@ -105,4 +120,17 @@ public class PlatformConfigurationsConverterCommand {
                     .build());
         }
     }
+
+    private static <T> List<T> immutable(List<T> values) {
+        return Objects.isNull(values) ? List.of() : Collections.unmodifiableList(values);
+    }
+
+    private static <T> Map<String, T> index(List<T> values, Function<T, String> key) {
+        if (Objects.isNull(values)) return Map.of();
+        Map<String, T> index = new HashMap<>();
+        values.stream()
+                .filter(value -> Objects.nonNull(value) && Objects.nonNull(key.apply(value)))
+                .forEach(value -> index.putIfAbsent(PlatformConfigurations.indexKey(key.apply(value)), value));
+        return Collections.unmodifiableMap(index);
+    }
 }
@@ -3,15 +3,16 @@ package io.angularpay.menial.domain.commands;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.angularpay.menial.adapters.outbound.MongoAdapter;
-import io.angularpay.menial.adapters.outbound.RedisAdapter;
 import io.angularpay.menial.domain.MenialRequest;
 import io.angularpay.menial.domain.Offer;
 import io.angularpay.menial.domain.OfferStatus;
 import io.angularpay.menial.domain.Role;
 import io.angularpay.menial.exceptions.ErrorObject;
 import io.angularpay.menial.helpers.CommandHelper;
+import io.angularpay.menial.helpers.CommandHelper.Change;
 import io.angularpay.menial.models.*;
 import io.angularpay.menial.validation.DefaultConstraintValidator;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
@@ -22,7 +23,10 @@ import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Supplier;
 
+import static io.angularpay.menial.helpers.CommandHelper.collectionItemPath;
+import static io.angularpay.menial.helpers.CommandHelper.collectionItemUpdate;
 import static io.angularpay.menial.helpers.CommandHelper.getRequestByReferenceOrThrow;
+import static io.angularpay.menial.helpers.CommandHelper.replaceOffer;
 import static io.angularpay.menial.helpers.CommandHelper.validRequestStatusAndBargainExists;
 import static io.angularpay.menial.helpers.Helper.getAllPartiesExceptInvestee;
 import static io.angularpay.menial.models.UserNotificationType.BARGAIN_REJECTED;
@@ -35,14 +39,12 @@ public class RejectBargainCommand extends AbstractCommand<RejectBargainCommandRe
     private final MongoAdapter mongoAdapter;
     private final DefaultConstraintValidator validator;
     private final CommandHelper commandHelper;
-    private final RedisAdapter redisAdapter;
 
-    public RejectBargainCommand(ObjectMapper mapper, MongoAdapter mongoAdapter, DefaultConstraintValidator validator, CommandHelper commandHelper, RedisAdapter redisAdapter) {
+    public RejectBargainCommand(ObjectMapper mapper, MongoAdapter mongoAdapter, DefaultConstraintValidator validator, CommandHelper commandHelper) {
         super("RejectBargainCommand", mapper);
         this.mongoAdapter = mongoAdapter;
         this.validator = validator;
         this.commandHelper = commandHelper;
-        this.redisAdapter = redisAdapter;
     }
 
     @Override
@@ -55,20 +57,22 @@ public class RejectBargainCommand extends AbstractCommand<RejectBargainCommandRe
         MenialRequest found = getRequestByReferenceOrThrow(this.mongoAdapter, request.getRequestReference());
         validRequestStatusAndBargainExists(found, request.getBargainReference());
         Supplier<GenericCommandResponse> supplier = () -> rejectBargain(request);
-        return this.commandHelper.executeAcid(supplier);
+        return this.commandHelper.executeAcid(request.getRequestReference(), supplier);
     }
 
     private GenericCommandResponse rejectBargain(RejectBargainCommandRequest request) {
         MenialRequest found = getRequestByReferenceOrThrow(this.mongoAdapter, request.getRequestReference());
-        found.getBargain().getOffers().forEach(x-> {
-            if (request.getBargainReference().equalsIgnoreCase(x.getReference())) {
-                x.setStatus(OfferStatus.REJECTED);
-            }
-        });
-        if (request.getBargainReference().equalsIgnoreCase(found.getBargain().getAcceptedBargainReference())) {
-            found.getBargain().setAcceptedBargainReference(null);
+        Update update = collectionItemUpdate(request.getBargainReference())
+                .set(collectionItemPath("bargain.offers", "status"), OfferStatus.REJECTED);
+        String acceptedBargainReference = found.getBargain().getAcceptedBargainReference();
+        if (request.getBargainReference().equalsIgnoreCase(acceptedBargainReference)) {
+            update.unset("bargain.acceptedBargainReference");
+            acceptedBargainReference = null;
         }
-        MenialRequest response = this.mongoAdapter.updateRequest(found);
+        String accepted = acceptedBargainReference;
+        MenialRequest response = this.commandHelper.updateCollectionItem(found, update, new Change(
+                menialRequest -> replaceOffer(menialRequest, request.getBargainReference(), x -> x.toBuilder().status(OfferStatus.REJECTED).build(), accepted),
+                this.outbox(request.getBargainReference())));
         return GenericCommandResponse.builder()
                 .requestReference(response.getReference())
                 .itemReference(request.getBargainReference())
@@ -87,13 +91,9 @@ public class RejectBargainCommand extends AbstractCommand<RejectBargainCommandRe
     }
 
     @Override
-    public String convertToUpdatesMessage(MenialRequest menialRequest) throws JsonProcessingException {
-        return this.commandHelper.toJsonString(menialRequest);
-    }
-
-    @Override
-    public RedisAdapter getRedisAdapter() {
-        return this.redisAdapter;
+    public String convertToUpdatesMessage(MenialRequest menialRequest, GenericCommandResponse commandResponse) throws JsonProcessingException {
+        return this.commandHelper.toUpdatesMessage(menialRequest, UpdateOperation.BARGAIN_REJECTED, "bargain",
+                menialRequest.getBargain());
     }
 
     @Override
@@ -123,9 +123,9 @@ public class RejectBargainCommand extends AbstractCommand<RejectBargainCommandRe
                 .requestReference(parameters.getCommandResponse().getRequestReference())
                 .bargainReference(parameters.getCommandResponse().getItemReference())
                 .build();
-        String payload = mapper.writeValueAsString(userNotificationInvestmentPayload);
+        String payload = this.commandHelper.toJsonString(userNotificationInvestmentPayload);
 
-        String attributes = mapper.writeValueAsString(parameters.getRequest());
+        String attributes = parameters.getAttributes();
 
         UserNotification userNotification = UserNotification.builder()
                 .reference(UUID.randomUUID().toString())
@@ -138,6 +138,6 @@ public class RejectBargainCommand extends AbstractCommand<RejectBargainCommandRe
                 .attributes(attributes)
                 .build();
 
-        return mapper.writeValueAsString(userNotification);
+        return this.commandHelper.toJsonString(userNotification);
     }
 }
@@ -3,15 +3,16 @@ package io.angularpay.menial.domain.commands;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.angularpay.menial.adapters.outbound.MongoAdapter;
-import io.angularpay.menial.adapters.outbound.RedisAdapter;
 import io.angularpay.menial.domain.DeletedBy;
 import io.angularpay.menial.domain.MenialRequest;
 import io.angularpay.menial.domain.Role;
 import io.angularpay.menial.domain.ServiceProvider;
 import io.angularpay.menial.exceptions.ErrorObject;
 import io.angularpay.menial.helpers.CommandHelper;
+import io.angularpay.menial.helpers.CommandHelper.Change;
 import io.angularpay.menial.models.*;
 import io.angularpay.menial.validation.DefaultConstraintValidator;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
@@ -38,19 +39,16 @@ public class RemoveServiceProviderCommand extends AbstractCommand<RemoveServiceP
     private final MongoAdapter mongoAdapter;
     private final DefaultConstraintValidator validator;
     private final CommandHelper commandHelper;
-    private final RedisAdapter redisAdapter;
 
     public RemoveServiceProviderCommand(
             ObjectMapper mapper,
             MongoAdapter mongoAdapter,
             DefaultConstraintValidator validator,
-            CommandHelper commandHelper,
-            RedisAdapter redisAdapter) {
+            CommandHelper commandHelper) {
         super("RemoveServiceProviderCommand", mapper);
         this.mongoAdapter = mongoAdapter;
         this.validator = validator;
         this.commandHelper = commandHelper;
-        this.redisAdapter = redisAdapter;
     }
 
     @Override
@@ -70,7 +68,7 @@ public class RemoveServiceProviderCommand extends AbstractCommand<RemoveServiceP
         String investmentReference = request.getInvestmentReference();
         validRequestStatusAndInvestmentExists(found, investmentReference);
         Supplier<GenericCommandResponse> supplier = () -> removeInvestor(request);
-        return this.commandHelper.executeAcid(supplier);
+        return this.commandHelper.executeAcid(request.getRequestReference(), supplier);
     }
 
     private GenericCommandResponse removeInvestor(RemoveServiceProviderCommandRequest request) {
@@ -79,12 +77,18 @@ public class RemoveServiceProviderCommand extends AbstractCommand<RemoveServiceP
         found.getServiceProviders().forEach(x-> {
             if (request.getInvestmentReference().equalsIgnoreCase(x.getReference())) {
                 validateInvestmentStatusOrThrow(x);
-                x.setDeleted(true);
-                x.setDeletedOn(Instant.now().truncatedTo(ChronoUnit.SECONDS).toString());
-                x.setDeletedBy(request.getDeletedBy());
             }
         });
-        MenialRequest response = this.mongoAdapter.updateRequest(found);
+        String deletedOn = Instant.now().truncatedTo(ChronoUnit.SECONDS).toString();
+        Update update = collectionItemUpdate(request.getInvestmentReference())
+                .set(collectionItemPath("serviceProviders", "deleted"), true)
+                .set(collectionItemPath("serviceProviders", "deletedOn"), deletedOn)
+                .set(collectionItemPath("serviceProviders", "deletedBy"), request.getDeletedBy());
+        MenialRequest response = this.commandHelper.updateCollectionItem(found, update, new Change(
+                menialRequest -> menialRequest.setServiceProviders(replaced(menialRequest.getServiceProviders(),
+                        x -> request.getInvestmentReference().equalsIgnoreCase(x.getReference()),
+                        x -> x.toBuilder().deleted(true).deletedOn(deletedOn).deletedBy(request.getDeletedBy()).build())),
+                this.outbox(request.getInvestmentReference())));
         return GenericCommandResponse.builder()
                 .requestReference(response.getReference())
                 .menialRequest(response)
@@ -103,13 +107,9 @@ public class RemoveServiceProviderCommand extends AbstractCommand<RemoveServiceP
     }
 
     @Override
-    public String convertToUpdatesMessage(MenialRequest menialRequest) throws JsonProcessingException {
-        return this.commandHelper.toJsonString(menialRequest);
-    }
-
-    @Override
-    public RedisAdapter getRedisAdapter() {
-        return this.redisAdapter;
+    public String convertToUpdatesMessage(MenialRequest menialRequest, GenericCommandResponse commandResponse) throws JsonProcessingException {
+        return this.commandHelper.toUpdatesMessage(menialRequest, UpdateOperation.SERVICE_PROVIDER_REMOVED, "service_providers",
+                findServiceProvider(menialRequest, x -> x.getReference().equalsIgnoreCase(commandResponse.getItemReference())).orElse(null));
     }
 
     @Override
@@ -146,9 +146,9 @@ public class RemoveServiceProviderCommand extends AbstractCommand<RemoveServiceP
                 .requestReference(parameters.getCommandResponse().getRequestReference())
                 .investmentReference(parameters.getCommandResponse().getItemReference())
                 .build();
-        String payload = mapper.writeValueAsString(userNotificationInvestmentPayload);
+        String payload = this.commandHelper.toJsonString(userNotificationInvestmentPayload);
 
-        String attributes = mapper.writeValueAsString(parameters.getRequest());
+        String attributes = parameters.getAttributes();
 
         UserNotification userNotification = UserNotification.builder()
                 .reference(UUID.randomUUID().toString())
@@ -161,6 +161,6 @@ public class RemoveServiceProviderCommand extends AbstractCommand<RemoveServiceP
                 .attributes(attributes)
                 .build();
 
-        return mapper.writeValueAsString(userNotification);
+        return this.commandHelper.toJsonString(userNotification);
     }
 }
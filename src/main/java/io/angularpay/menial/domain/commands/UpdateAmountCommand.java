@@ -3,14 +3,15 @@ package io.angularpay.menial.domain.commands;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.angularpay.menial.adapters.outbound.MongoAdapter;
-import io.angularpay.menial.adapters.outbound.RedisAdapter;
 import io.angularpay.menial.domain.MenialRequest;
 import io.angularpay.menial.domain.Role;
 import io.angularpay.menial.exceptions.ErrorObject;
 import io.angularpay.menial.helpers.CommandHelper;
+import io.angularpay.menial.helpers.CommandHelper.Change;
 import io.angularpay.menial.models.GenericCommandResponse;
 import io.angularpay.menial.models.GenericReferenceResponse;
 import io.angularpay.menial.models.UpdateAmountCommandRequest;
+import io.angularpay.menial.models.UpdateOperation;
 import io.angularpay.menial.validation.DefaultConstraintValidator;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.OptimisticLockingFailureException;
@@ -31,18 +32,16 @@ public class UpdateAmountCommand extends AbstractCommand<UpdateAmountCommandRequ
     private final MongoAdapter mongoAdapter;
     private final DefaultConstraintValidator validator;
     private final CommandHelper commandHelper;
-    private final RedisAdapter redisAdapter;
 
     public UpdateAmountCommand(
             ObjectMapper mapper,
             MongoAdapter mongoAdapter,
             DefaultConstraintValidator validator,
-            CommandHelper commandHelper, RedisAdapter redisAdapter) {
+            CommandHelper commandHelper) {
         super("UpdateAmountCommand", mapper);
         this.mongoAdapter = mongoAdapter;
         this.validator = validator;
         this.commandHelper = commandHelper;
-        this.redisAdapter = redisAdapter;
     }
 
     @Override
@@ -55,12 +54,13 @@ public class UpdateAmountCommand extends AbstractCommand<UpdateAmountCommandRequ
         MenialRequest found = getRequestByReferenceOrThrow(this.mongoAdapter, request.getRequestReference());
         validRequestStatusOrThrow(found);
         Supplier<GenericCommandResponse> supplier = () -> updateAmount(request);
-        return this.commandHelper.executeAcid(supplier);
+        return this.commandHelper.executeAcid(request.getRequestReference(), supplier);
     }
 
     private GenericCommandResponse updateAmount(UpdateAmountCommandRequest request) throws OptimisticLockingFailureException {
         MenialRequest found = getRequestByReferenceOrThrow(this.mongoAdapter, request.getRequestReference());
-        MenialRequest response = this.commandHelper.updateProperty(found, request::getAmount, found::setAmount);
+        MenialRequest response = this.commandHelper.updateProperty(found, "amount", request.getAmount(),
+                new Change(menialRequest -> menialRequest.setAmount(request.getAmount()), this.outbox(null)));
         return GenericCommandResponse.builder()
                 .requestReference(response.getReference())
                 .menialRequest(response)
@@ -78,12 +78,7 @@ public class UpdateAmountCommand extends AbstractCommand<UpdateAmountCommandRequ
     }
 
     @Override
-    public String convertToUpdatesMessage(MenialRequest menialRequest) throws JsonProcessingException {
-        return this.commandHelper.toJsonString(menialRequest);
-    }
-
-    @Override
-    public RedisAdapter getRedisAdapter() {
-        return this.redisAdapter;
+    public String convertToUpdatesMessage(MenialRequest menialRequest, GenericCommandResponse commandResponse) throws JsonProcessingException {
+        return this.commandHelper.toUpdatesMessage(menialRequest, UpdateOperation.AMOUNT_UPDATED, "amount", menialRequest.getAmount());
     }
 }
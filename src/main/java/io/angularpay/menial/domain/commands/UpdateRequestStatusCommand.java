@@ -3,13 +3,13 @@ package io.angularpay.menial.domain.commands;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.angularpay.menial.adapters.outbound.MongoAdapter;
-import io.angularpay.menial.adapters.outbound.RedisAdapter;
 import io.angularpay.menial.domain.MenialRequest;
 import io.angularpay.menial.domain.RequestStatus;
 import io.angularpay.menial.domain.Role;
 import io.angularpay.menial.exceptions.CommandException;
 import io.angularpay.menial.exceptions.ErrorObject;
 import io.angularpay.menial.helpers.CommandHelper;
+import io.angularpay.menial.helpers.CommandHelper.Change;
 import io.angularpay.menial.models.*;
 import io.angularpay.menial.validation.DefaultConstraintValidator;
 import org.springframework.dao.OptimisticLockingFailureException;
@@ -37,19 +37,16 @@ public class UpdateRequestStatusCommand extends AbstractCommand<UpdateRequestSta
     private final MongoAdapter mongoAdapter;
     private final DefaultConstraintValidator validator;
     private final CommandHelper commandHelper;
-    private final RedisAdapter redisAdapter;
 
     public UpdateRequestStatusCommand(
             ObjectMapper mapper,
             MongoAdapter mongoAdapter,
             DefaultConstraintValidator validator,
-            CommandHelper commandHelper,
-            RedisAdapter redisAdapter) {
+            CommandHelper commandHelper) {
         super("UpdateRequestStatusCommand", mapper);
         this.mongoAdapter = mongoAdapter;
         this.validator = validator;
         this.commandHelper = commandHelper;
-        this.redisAdapter = redisAdapter;
     }
 
     @Override
@@ -75,12 +72,13 @@ public class UpdateRequestStatusCommand extends AbstractCommand<UpdateRequestSta
                     .build();
         }
         Supplier<GenericCommandResponse> supplier = () -> updateRequestStatus(request);
-        return this.commandHelper.executeAcid(supplier);
+        return this.commandHelper.executeAcid(request.getRequestReference(), supplier);
     }
 
     private GenericCommandResponse updateRequestStatus(UpdateRequestStatusCommandRequest request) throws OptimisticLockingFailureException {
         MenialRequest found = getRequestByReferenceOrThrow(this.mongoAdapter, request.getRequestReference());
-        MenialRequest response = this.commandHelper.updateProperty(found, request::getStatus, found::setStatus);
+        MenialRequest response = this.commandHelper.updateProperty(found, "status", request.getStatus(),
+                new Change(menialRequest -> menialRequest.setStatus(request.getStatus()), this.outbox(null)));
         return GenericCommandResponse.builder()
                 .requestReference(response.getReference())
                 .menialRequest(response)
@@ -98,13 +96,8 @@ public class UpdateRequestStatusCommand extends AbstractCommand<UpdateRequestSta
     }
 
     @Override
-    public String convertToUpdatesMessage(MenialRequest menialRequest) throws JsonProcessingException {
-        return this.commandHelper.toJsonString(menialRequest);
-    }
-
-    @Override
-    public RedisAdapter getRedisAdapter() {
-        return this.redisAdapter;
+    public String convertToUpdatesMessage(MenialRequest menialRequest, GenericCommandResponse commandResponse) throws JsonProcessingException {
+        return this.commandHelper.toUpdatesMessage(menialRequest, UpdateOperation.STATUS_UPDATED, "status", menialRequest.getStatus());
     }
 
     @Override
@@ -157,9 +150,9 @@ public class UpdateRequestStatusCommand extends AbstractCommand<UpdateRequestSta
         UserNotificationRequestPayload userNotificationInvestmentPayload = UserNotificationRequestPayload.builder()
                 .requestReference(parameters.getCommandResponse().getRequestReference())
                 .build();
-        String payload = mapper.writeValueAsString(userNotificationInvestmentPayload);
+        String payload = this.commandHelper.toJsonString(userNotificationInvestmentPayload);
 
-        String attributes = mapper.writeValueAsString(parameters.getRequest());
+        String attributes = parameters.getAttributes();
 
         UserNotification userNotification = UserNotification.builder()
                 .reference(UUID.randomUUID().toString())
@@ -172,6 +165,6 @@ public class UpdateRequestStatusCommand extends AbstractCommand<UpdateRequestSta
                 .attributes(attributes)
                 .build();
 
-        return mapper.writeValueAsString(userNotification);
+        return this.commandHelper.toJsonString(userNotification);
     }
 }
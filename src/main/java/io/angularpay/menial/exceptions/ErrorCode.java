@@ -7,11 +7,14 @@ public enum ErrorCode {
     INVALID_JSON("The JSON payload is invalid"),
     INVALID_MESSAGE_ERROR("The message format read from the given topic is invalid"),
     CIPHER_ERROR("Cipher operation failed. The cipher reference or signature provided is probably invalid"),
+    CIPHER_SERVICE_UNAVAILABLE("Unable to verify the request signature at this time. Please retry shortly", 503),
+    REQUEST_BODY_TOO_LARGE("The request body exceeds the maximum allowed size", 413),
     VALIDATION_ERROR("The request has validation errors"),
     REQUEST_REMOVED_ERROR("You cannot performed this action on a request that has already been removed"),
     REQUEST_COMPLETED_ERROR("You cannot performed this action on a request that has already been completed"),
     REQUEST_CANCELLED_ERROR("You cannot performed this action on a request that has already been cancelled"),
     REQUEST_NOT_FOUND("The requested resource was NOT found"),
+    CONCURRENT_UPDATE_ERROR("The resource was modified concurrently. Please retry", 409),
     GENERIC_ERROR("Generic error occurred. See stacktrace for details"),
     SCHEDULER_SERVICE_ERROR("Unable to create scheduled task. Please check scheduler-service logs for details."),
     AUTHORIZATION_ERROR("You do NOT have adequate permission to access this resource"),
@@ -1,54 +1,166 @@
 package io.angularpay.menial.helpers;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.angularpay.menial.adapters.outbound.MongoAdapter;
 import io.angularpay.menial.configurations.AngularPayConfiguration;
+import io.angularpay.menial.domain.Bargain;
 import io.angularpay.menial.domain.MenialRequest;
 import io.angularpay.menial.domain.Offer;
+import io.angularpay.menial.domain.OutboxMessage;
 import io.angularpay.menial.domain.RequestStatus;
 import io.angularpay.menial.domain.ServiceProvider;
 import io.angularpay.menial.exceptions.CommandException;
 import io.angularpay.menial.exceptions.ErrorCode;
+import io.angularpay.menial.exceptions.ErrorObject;
+import io.angularpay.menial.models.Cursor;
 import io.angularpay.menial.models.GenericCommandResponse;
+import io.angularpay.menial.models.Paging;
+import io.angularpay.menial.models.UpdateOperation;
+import io.angularpay.menial.models.UpdatesMessage;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
 
+import static io.angularpay.menial.common.Constants.ERROR_SOURCE;
 import static io.angularpay.menial.domain.InvestmentTransactionStatus.SUCCESSFUL;
 import static io.angularpay.menial.exceptions.ErrorCode.*;
 
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class CommandHelper {
 
+    private static final String COLLECTION_ITEM = "item";
+
     private final MongoAdapter mongoAdapter;
-    private final ObjectMapper mapper;
+    private final SerializationHelper serializationHelper;
     private final AngularPayConfiguration configuration;
+    private final MeterRegistry meterRegistry;
+    private final RetryPolicy retryPolicy;
+    private final RequestLockHelper requestLockHelper;
+    private final GroupCommitHelper groupCommitHelper;
+    private final DistributionSummary attempts;
+    // recent optimistic-lock conflicts per request reference; kept out of metric tags to bound cardinality
+    private final Cache<String, AtomicLong> contention;
+
+    public CommandHelper(
+            MongoAdapter mongoAdapter,
+            SerializationHelper serializationHelper,
+            AngularPayConfiguration configuration,
+            MeterRegistry meterRegistry,
+            RetryPolicy retryPolicy,
+            RequestLockHelper requestLockHelper,
+            GroupCommitHelper groupCommitHelper) {
+        this.mongoAdapter = mongoAdapter;
+        this.serializationHelper = serializationHelper;
+        this.configuration = configuration;
+        this.meterRegistry = meterRegistry;
+        this.retryPolicy = retryPolicy;
+        this.requestLockHelper = requestLockHelper;
+        this.groupCommitHelper = groupCommitHelper;
+        this.attempts = meterRegistry.summary("menial.command.acid.attempts");
+
+        AngularPayConfiguration.CacheSpec spec = configuration.getRetry().getContention();
+        this.contention = Caffeine.newBuilder()
+                .maximumSize(spec.getMaxSize())
+                .expireAfterWrite(Duration.ofSeconds(spec.getTtlSeconds()))
+                .build();
+        meterRegistry.gauge("menial.command.acid.contended.references", this.contention, Cache::estimatedSize);
+        meterRegistry.gauge("menial.command.acid.conflicts.max", this.contention, cache -> cache.asMap().values().stream()
+                .mapToLong(AtomicLong::get)
+                .max()
+                .orElse(0));
+    }
 
-    public GenericCommandResponse executeAcid(Supplier<GenericCommandResponse> supplier) {
-        int maxRetry = this.configuration.getMaxUpdateRetry();
-        OptimisticLockingFailureException optimisticLockingFailureException;
-        int counter = 0;
-        //noinspection ConstantConditions
-        do {
+    /**
+     * Runs {@code supplier} until it stops failing on optimistic locking, backing off between attempts as
+     * the {@link RetryPolicy} decides. Writers to the same request on this node take turns per attempt; the
+     * lock is released while backing off so other references on the same stripe are not held up.
+     */
+    public <V> V executeAcid(String requestReference, Supplier<V> supplier) {
+        this.retryPolicy.onCall();
+        long start = System.nanoTime();
+        int retry = 0;
+        while (true) {
             try {
-                return supplier.get();
+                V response = this.requestLockHelper.withLock(requestReference, supplier);
+                this.attempts.record(retry + 1);
+                return response;
             } catch (OptimisticLockingFailureException exception) {
-                if (counter++ >= maxRetry) throw exception;
-                optimisticLockingFailureException = exception;
+                retry++;
+                long conflicts = this.contention.get(requestReference, reference -> new AtomicLong()).incrementAndGet();
+                long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                OptionalLong backoff = this.retryPolicy.nextBackoffMillis(retry, elapsedMillis);
+                if (backoff.isEmpty()) {
+                    this.attempts.record(retry);
+                    this.meterRegistry.counter("menial.command.acid.exhausted").increment();
+                    log.warn("giving up on request {} after {} attempts in {}ms, {} recent conflicts on it",
+                            requestReference, retry, elapsedMillis, conflicts);
+                    throw concurrentUpdateException(exception);
+                }
+                this.meterRegistry.counter("menial.command.acid.retries").increment();
+                backoff(backoff.getAsLong(), exception);
             }
         }
-        while (Objects.nonNull(optimisticLockingFailureException));
-        throw optimisticLockingFailureException;
+    }
+
+    private static void backoff(long millis, OptimisticLockingFailureException exception) {
+        if (millis <= 0) return;
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw concurrentUpdateException(exception);
+        }
+    }
+
+    private static CommandException concurrentUpdateException(OptimisticLockingFailureException exception) {
+        return CommandException.builder()
+                .status(HttpStatus.CONFLICT)
+                .errorCode(CONCURRENT_UPDATE_ERROR)
+                .message(CONCURRENT_UPDATE_ERROR.getDefaultMessage())
+                .cause(exception)
+                .build();
     }
 
     public String getRequestOwner(String requestReference) {
@@ -90,21 +202,320 @@ public class CommandHelper {
                 .orElse("");
     }
 
-    public <T> MenialRequest updateProperty(MenialRequest menialRequest, Supplier<T> getter, Consumer<T> setter) {
-        setter.accept(getter.get());
-        return this.mongoAdapter.updateRequest(menialRequest);
+    /**
+     * Inserts the request together with its first outbox messages. Insert starts the version at 1, which is
+     * the state the messages are built from.
+     */
+    public MenialRequest createRequest(MenialRequest request, Function<MenialRequest, List<OutboxMessage>> outbox) {
+        String now = now();
+        MenialRequest created = request.toBuilder()
+                .createdOn(now)
+                .lastModified(now)
+                .version(1)
+                .build();
+        created.setOutbox(outbox.apply(created));
+        return this.mongoAdapter.createRequest(created);
+    }
+
+    public <T> MenialRequest updateProperty(MenialRequest menialRequest, String propertyPath, T value, Change change) {
+        return this.applyUpdate(menialRequest, new Update().set(propertyPath, value), change);
+    }
+
+    /**
+     * Concurrent additions to the same collection of a request are coalesced into one {@code $push}. The write
+     * is version-guarded and moves the version on by one per item, and every caller gets the state right after
+     * its own item, so each addition still reads as its own version downstream. The outbox messages of every
+     * item are pushed in the same write.
+     *
+     * @param addItem mirrors the {@code $push} on a read copy; it must replace the collection rather than
+     *                add to it, since the states handed to earlier items share everything else
+     */
+    @SuppressWarnings("unchecked")
+    public <T> MenialRequest addItemToCollection(MenialRequest menialRequest, String collectionPath, T newItem,
+                                                 BiConsumer<MenialRequest, T> addItem, Function<MenialRequest, List<OutboxMessage>> outbox) {
+        String reference = menialRequest.getReference();
+        Change change = new Change(current -> addItem.accept(current, newItem), outbox);
+        return this.groupCommitHelper.submit(reference + "|" + collectionPath, new PendingItem(newItem, change), pending -> this.executeAcid(reference, () -> {
+            MenialRequest current = getRequestByReferenceOrThrow(this.mongoAdapter, reference);
+            validRequestStatusOrThrow(current);
+            int version = current.getVersion();
+            String lastModified = now();
+            List<Object> items = new ArrayList<>();
+            List<Change> changes = new ArrayList<>();
+            pending.forEach(item -> {
+                items.add(((PendingItem) item).getItem());
+                changes.add(((PendingItem) item).getChange());
+            });
+            List<OutboxMessage> messages = new ArrayList<>();
+            List<MenialRequest> states = predictedStates(current, changes, lastModified, messages);
+            Update update = new Update().push(collectionPath).each(items.toArray());
+            this.applyUpdate(reference, version, items.size(), lastModified, withOutbox(update, messages));
+            return states;
+        }));
+    }
+
+    /**
+     * @return a new list holding the items of {@code list}, if any, followed by {@code item}
+     */
+    public static <T> List<T> appended(List<T> list, T item) {
+        List<T> items = Objects.isNull(list) ? new ArrayList<>() : new ArrayList<>(list);
+        items.add(item);
+        return items;
+    }
+
+    public MenialRequest updateCollectionItem(MenialRequest menialRequest, Update update, Change change) {
+        return this.applyUpdate(menialRequest, update, change);
+    }
+
+    private MenialRequest applyUpdate(MenialRequest menialRequest, Update update, Change change) {
+        String lastModified = now();
+        List<OutboxMessage> messages = new ArrayList<>();
+        predictedStates(menialRequest.toBuilder().build(), Collections.singletonList(change), lastModified, messages);
+        return this.applyUpdate(menialRequest.getReference(), menialRequest.getVersion(), 1, lastModified, withOutbox(update, messages));
+    }
+
+    private MenialRequest applyUpdate(String reference, int expectedVersion, int versions, String lastModified, Update update) {
+        update.inc("version", versions).set("lastModified", lastModified);
+        return this.mongoAdapter.applyUpdate(reference, expectedVersion, update).orElseGet(() -> {
+            MenialRequest current = getRequestByReferenceOrThrow(this.mongoAdapter, reference);
+            validRequestStatusOrThrow(current);
+            throw new OptimisticLockingFailureException(
+                    String.format("request %s was modified concurrently", reference));
+        });
+    }
+
+    /**
+     * Applies {@code changes} in order to {@code current}, which is modified, and collects the outbox messages
+     * of each change, built from the state right after it.
+     *
+     * @return the state right after each change
+     */
+    private static List<MenialRequest> predictedStates(MenialRequest current, List<Change> changes, String lastModified,
+                                                       List<OutboxMessage> messages) {
+        List<MenialRequest> states = new ArrayList<>();
+        for (Change change : changes) {
+            change.getApply().accept(current);
+            current.setVersion(current.getVersion() + 1);
+            current.setLastModified(lastModified);
+            MenialRequest state = current.toBuilder().build();
+            messages.addAll(change.getOutbox().apply(state));
+            states.add(state);
+        }
+        return states;
+    }
+
+    private static Update withOutbox(Update update, List<OutboxMessage> messages) {
+        return messages.isEmpty() ? update : update.push("outbox").each(messages.toArray());
+    }
+
+    private static String now() {
+        return Instant.now().truncatedTo(ChronoUnit.SECONDS).toString();
+    }
+
+    public static Update collectionItemUpdate(String itemReference) {
+        return new Update().filterArray(collectionItemFilter(COLLECTION_ITEM, itemReference));
+    }
+
+    /**
+     * Matches the array element bound to {@code identifier} by its reference. Further conditions can be chained
+     * on {@code identifier + ".field"}; a bulk update gives each item its own identifier.
+     */
+    public static Criteria collectionItemFilter(String identifier, String itemReference) {
+        // item references have always been matched ignoring case
+        return Criteria.where(identifier + ".reference").regex("^" + Pattern.quote(itemReference) + "$", "i");
+    }
+
+    public static String collectionItemPath(String collectionPath, String property) {
+        return collectionItemPath(collectionPath, COLLECTION_ITEM, property);
+    }
+
+    public static String collectionItemPath(String collectionPath, String identifier, String property) {
+        return collectionPath + ".$[" + identifier + "]." + property;
+    }
+
+    /**
+     * @return the requests found, keyed by reference; missing references are simply absent
+     */
+    public Map<String, MenialRequest> findRequestsByReferences(Collection<String> references) {
+        return this.mongoAdapter.findRequestsByReferences(references).stream()
+                .collect(Collectors.toMap(MenialRequest::getReference, Function.identity()));
+    }
+
+    /**
+     * Runs a bulk command whose items each change one collection item of a request. All affected requests are
+     * read once and written with one unordered bulk update, each guarded by the version it was read at and
+     * moving it on by one per item, while holding the write locks of all of them. Requests whose write lost to
+     * a concurrent one are then retried one by one like any single-item command, see {@link #executeAcid}.
+     *
+     * @param requestReferences the request of each item, in item order
+     * @return the outcome of each item, in item order
+     */
+    public List<BulkOutcome> executeBulk(List<String> requestReferences, BulkWrite write) {
+        Map<String, List<Integer>> itemsByReference = new LinkedHashMap<>();
+        for (int i = 0; i < requestReferences.size(); i++) {
+            itemsByReference.computeIfAbsent(requestReferences.get(i), reference -> new ArrayList<>()).add(i);
+        }
+        BulkOutcome[] outcomes = new BulkOutcome[requestReferences.size()];
+
+        Map<String, List<Integer>> conflicts = this.requestLockHelper.withLocks(itemsByReference.keySet(), () -> {
+            Map<String, MenialRequest> found = this.findRequestsByReferences(itemsByReference.keySet());
+            Map<String, Update> updates = new HashMap<>();
+            Map<String, List<Change>> changes = new HashMap<>();
+            Map<String, List<Integer>> submitted = new HashMap<>();
+            itemsByReference.forEach((reference, items) -> {
+                Update update = new Update();
+                List<Change> requestChanges = new ArrayList<>();
+                List<Integer> requestSubmitted = new ArrayList<>();
+                prepareBulk(found.get(reference), items, write, update, requestChanges, requestSubmitted, outcomes);
+                if (requestChanges.isEmpty()) return;
+                updates.put(reference, update);
+                changes.put(reference, requestChanges);
+                submitted.put(reference, requestSubmitted);
+            });
+            if (updates.isEmpty()) return Collections.<String, List<Integer>>emptyMap();
+
+            Map<String, List<MenialRequest>> states = this.applyUpdates(found, updates, changes);
+            Map<String, MenialRequest> updated = this.findRequestsByReferences(updates.keySet());
+            Map<String, List<Integer>> lost = new LinkedHashMap<>();
+            submitted.forEach((reference, items) -> {
+                MenialRequest persisted = updated.get(reference);
+                for (int position = 0; position < items.size(); position++) {
+                    int item = items.get(position);
+                    if (Objects.nonNull(persisted) && write.applied(persisted, item)) {
+                        outcomes[item] = BulkOutcome.succeeded(states.get(reference).get(position));
+                    } else {
+                        lost.computeIfAbsent(reference, key -> new ArrayList<>()).add(item);
+                    }
+                }
+            });
+            return lost;
+        });
+
+        conflicts.forEach((reference, items) -> {
+            try {
+                this.executeAcid(reference, () -> {
+                    MenialRequest current = getRequestByReferenceOrThrow(this.mongoAdapter, reference);
+                    Update update = new Update();
+                    List<Change> changes = new ArrayList<>();
+                    List<Integer> submitted = new ArrayList<>();
+                    prepareBulk(current, items, write, update, changes, submitted, outcomes);
+                    if (changes.isEmpty()) return null;
+                    String lastModified = now();
+                    List<OutboxMessage> messages = new ArrayList<>();
+                    List<MenialRequest> states = predictedStates(current.toBuilder().build(), changes, lastModified, messages);
+                    this.applyUpdate(reference, current.getVersion(), changes.size(), lastModified, withOutbox(update, messages));
+                    for (int position = 0; position < submitted.size(); position++) {
+                        outcomes[submitted.get(position)] = BulkOutcome.succeeded(states.get(position));
+                    }
+                    return null;
+                });
+            } catch (CommandException exception) {
+                items.forEach(item -> outcomes[item] = BulkOutcome.failed(exception.getErrorCode()));
+            }
+        });
+        return Arrays.asList(outcomes);
+    }
+
+    /**
+     * Validates {@code items} against {@code current} and binds the change of each valid one to {@code update};
+     * the invalid ones get a failed outcome.
+     */
+    private static void prepareBulk(MenialRequest current, List<Integer> items, BulkWrite write, Update update,
+                                    List<Change> changes, List<Integer> submitted, BulkOutcome[] outcomes) {
+        for (int item : items) {
+            try {
+                if (Objects.isNull(current)) throw commandException(HttpStatus.NOT_FOUND, REQUEST_NOT_FOUND);
+                write.validate(current, item);
+            } catch (CommandException exception) {
+                outcomes[item] = BulkOutcome.failed(exception.getErrorCode());
+                continue;
+            }
+            changes.add(write.change(update, COLLECTION_ITEM + item, item));
+            submitted.add(item);
+        }
     }
 
-    public <T> MenialRequest addItemToCollection(MenialRequest menialRequest, T newProperty, Supplier<List<T>> collectionGetter, Consumer<List<T>> collectionSetter) {
-        if (CollectionUtils.isEmpty(collectionGetter.get())) {
-            collectionSetter.accept(new ArrayList<>());
+    /**
+     * Applies one update per request in a single unordered bulk write, each guarded by the version the request
+     * was read at and moving it on by one per change. {@code changes} mirror the updates on the read copies in
+     * item order; the state right after each change is returned and their outbox messages are pushed with the
+     * update. Failed writes are not reported back, so callers re-read the requests to see which applied.
+     */
+    private Map<String, List<MenialRequest>> applyUpdates(Map<String, MenialRequest> found, Map<String, Update> updatesByReference,
+                                                          Map<String, List<Change>> changes) {
+        Map<String, List<MenialRequest>> states = new HashMap<>();
+        Map<String, Integer> expectedVersions = new HashMap<>();
+        String lastModified = now();
+        updatesByReference.forEach((reference, update) -> {
+            MenialRequest current = found.get(reference).toBuilder().build();
+            List<Change> requestChanges = changes.get(reference);
+            expectedVersions.put(reference, current.getVersion());
+            List<OutboxMessage> messages = new ArrayList<>();
+            states.put(reference, predictedStates(current, requestChanges, lastModified, messages));
+            withOutbox(update, messages).inc("version", requestChanges.size()).set("lastModified", lastModified);
+        });
+        try {
+            this.mongoAdapter.applyUpdates(updatesByReference, expectedVersions);
+        } catch (BulkOperationException exception) {
+            log.warn("{} of {} bulk request updates failed", exception.getErrors().size(), updatesByReference.size(), exception);
         }
-        collectionGetter.get().add(newProperty);
-        return this.mongoAdapter.updateRequest(menialRequest);
+        return states;
+    }
+
+    /**
+     * @return a new list with the items matching {@code predicate} replaced by {@code change}
+     */
+    public static <T> List<T> replaced(List<T> list, Predicate<T> predicate, UnaryOperator<T> change) {
+        return list.stream()
+                .map(item -> predicate.test(item) ? change.apply(item) : item)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Mirrors an update of the offer {@code bargainReference} on a read copy, replacing its bargain by one with
+     * the offer changed by {@code change} and {@code acceptedBargainReference} as the accepted bargain.
+     */
+    public static void replaceOffer(MenialRequest menialRequest, String bargainReference, UnaryOperator<Offer> change,
+                                    String acceptedBargainReference) {
+        Bargain bargain = menialRequest.getBargain();
+        menialRequest.setBargain(bargain.toBuilder()
+                .acceptedBargainReference(acceptedBargainReference)
+                .offers(replaced(bargain.getOffers(), x -> bargainReference.equalsIgnoreCase(x.getReference()), change))
+                .build());
     }
 
     public <T> String toJsonString(T t) throws JsonProcessingException {
-        return this.mapper.writeValueAsString(t);
+        return this.serializationHelper.toJsonString(t);
+    }
+
+    public String toUpdatesMessage(MenialRequest request, UpdateOperation operation, String path, Object change) throws JsonProcessingException {
+        URI snapshotLink = UriComponentsBuilder.fromUriString(configuration.getSelfUrl())
+                .path("/menial/requests/")
+                .path(request.getReference())
+                .build().toUri();
+
+        return this.toJsonString(UpdatesMessage.builder()
+                .requestReference(request.getReference())
+                .serviceCode(request.getServiceCode())
+                .version(request.getVersion())
+                .operation(operation)
+                .path(path)
+                .change(change)
+                .lastModified(request.getLastModified())
+                .snapshotLink(snapshotLink.toString())
+                .build());
+    }
+
+    public static Optional<ServiceProvider> findServiceProvider(MenialRequest request, Predicate<ServiceProvider> predicate) {
+        if (CollectionUtils.isEmpty(request.getServiceProviders())) return Optional.empty();
+        return request.getServiceProviders().stream().filter(predicate).findFirst();
+    }
+
+    public static Optional<Offer> findOffer(MenialRequest request, String offerReference) {
+        if (Objects.isNull(request.getBargain()) || CollectionUtils.isEmpty(request.getBargain().getOffers())) return Optional.empty();
+        return request.getBargain().getOffers().stream()
+                .filter(offer -> offer.getReference().equalsIgnoreCase(offerReference))
+                .findFirst();
     }
 
     public static MenialRequest getRequestByReferenceOrThrow(MongoAdapter mongoAdapter, String requestReference) {
@@ -142,9 +553,110 @@ public class CommandHelper {
         }
     }
 
+    public static List<ErrorObject> validateCursor(Paging paging) {
+        List<ErrorObject> errors = new ArrayList<>();
+        if (Objects.isNull(paging)) return errors;
+        try {
+            Cursor.decode(paging.getCursor());
+        } catch (IllegalArgumentException exception) {
+            errors.add(ErrorObject.builder()
+                    .code(VALIDATION_ERROR)
+                    .message("cursor must be a valid continuation token")
+                    .source(ERROR_SOURCE)
+                    .build());
+        }
+        return errors;
+    }
+
+    /**
+     * @param itemKeys one key per submitted item; the same key twice means the item was submitted twice
+     */
+    public static List<ErrorObject> validateBulkItems(List<String> itemKeys, int maxItems) {
+        List<ErrorObject> errors = new ArrayList<>();
+        if (itemKeys.size() > maxItems) {
+            errors.add(ErrorObject.builder()
+                    .code(VALIDATION_ERROR)
+                    .message(String.format("at most %d items can be submitted at once", maxItems))
+                    .source(ERROR_SOURCE)
+                    .build());
+        }
+        Set<String> seen = new HashSet<>();
+        itemKeys.stream().filter(key -> !seen.add(key.toLowerCase())).findFirst().ifPresent(key -> errors.add(ErrorObject.builder()
+                .code(VALIDATION_ERROR)
+                .message(String.format("%s was submitted more than once", key))
+                .source(ERROR_SOURCE)
+                .build()));
+        return errors;
+    }
+
+    public static void validInvestmentPendingOrThrow(ServiceProvider serviceProvider) {
+        if (serviceProvider.isDeleted()) {
+            throw commandException(HttpStatus.UNPROCESSABLE_ENTITY, REQUEST_REMOVED_ERROR);
+        }
+        validateInvestmentStatusOrThrow(serviceProvider);
+    }
+
     public static void validateInvestmentStatusOrThrow(ServiceProvider serviceProvider) {
         if (Objects.nonNull(serviceProvider.getInvestmentStatus()) && serviceProvider.getInvestmentStatus().getStatus() == SUCCESSFUL) {
             throw commandException(HttpStatus.UNPROCESSABLE_ENTITY, REQUEST_COMPLETED_ERROR);
         }
     }
+
+    /**
+     * A change to a request: {@code apply} mirrors the update on a read copy and must replace what it changes
+     * rather than mutate it, {@code outbox} builds the messages announcing the state right after it.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class Change {
+        private final Consumer<MenialRequest> apply;
+        private final Function<MenialRequest, List<OutboxMessage>> outbox;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class PendingItem {
+        private final Object item;
+        private final Change change;
+    }
+
+    /**
+     * The per-item part of a bulk command, see {@link #executeBulk}. Items are identified by their index.
+     */
+    public interface BulkWrite {
+
+        /**
+         * @throws CommandException if the item cannot be applied to {@code current}
+         */
+        void validate(MenialRequest current, int item);
+
+        /**
+         * Adds the change of the item to {@code update}, with its array filters bound to {@code identifier}.
+         */
+        Change change(Update update, String identifier, int item);
+
+        /**
+         * @return whether {@code persisted} holds this call's change of the item, rather than someone else's
+         */
+        boolean applied(MenialRequest persisted, int item);
+    }
+
+    @Getter
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class BulkOutcome {
+        private final MenialRequest menialRequest;
+        private final ErrorCode errorCode;
+
+        public static BulkOutcome succeeded(MenialRequest menialRequest) {
+            return new BulkOutcome(menialRequest, null);
+        }
+
+        public static BulkOutcome failed(ErrorCode errorCode) {
+            return new BulkOutcome(null, errorCode);
+        }
+
+        public boolean isSucceeded() {
+            return Objects.isNull(this.errorCode);
+        }
+    }
 }
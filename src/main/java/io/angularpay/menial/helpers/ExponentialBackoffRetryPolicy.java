@@ -0,0 +1,62 @@
+package io.angularpay.menial.helpers;
+
+import io.angularpay.menial.configurations.AngularPayConfiguration;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.OptionalLong;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Exponential backoff with full jitter, bounded by attempts and elapsed time. Retries also draw from a
+ * node-wide budget that every call tops up by {@code budgetRatio}, so a burst of contention cannot turn
+ * into several retries per call against Mongo.
+ */
+public class ExponentialBackoffRetryPolicy implements RetryPolicy {
+
+    // the budget is kept in thousandths of a retry so fractional ratios need no floating point CAS
+    private static final long TOKEN = 1000;
+
+    private final int maxRetries;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final long maxElapsedMillis;
+    private final long deposit;
+    private final long capacity;
+    private final AtomicLong budget;
+    private final Counter budgetExhausted;
+
+    public ExponentialBackoffRetryPolicy(AngularPayConfiguration configuration, MeterRegistry meterRegistry) {
+        AngularPayConfiguration.Retry retry = configuration.getRetry();
+        this.maxRetries = configuration.getMaxUpdateRetry();
+        this.initialBackoffMillis = retry.getInitialBackoffMillis();
+        this.maxBackoffMillis = retry.getMaxBackoffMillis();
+        this.maxElapsedMillis = retry.getMaxElapsedMillis();
+        this.deposit = Math.round(retry.getBudgetRatio() * TOKEN);
+        this.capacity = retry.getBudgetMaxRetries() * TOKEN;
+        this.budget = new AtomicLong(this.capacity);
+        this.budgetExhausted = meterRegistry.counter("menial.command.acid.budget.exhausted");
+        meterRegistry.gauge("menial.command.acid.budget", this.budget, value -> (double) value.get() / TOKEN);
+    }
+
+    @Override
+    public void onCall() {
+        this.budget.updateAndGet(current -> Math.min(this.capacity, current + this.deposit));
+    }
+
+    @Override
+    public OptionalLong nextBackoffMillis(int retry, long elapsedMillis) {
+        if (retry > this.maxRetries) return OptionalLong.empty();
+
+        long ceiling = Math.min(this.maxBackoffMillis, this.initialBackoffMillis << Math.min(retry - 1, 20));
+        long delay = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        if (elapsedMillis + delay > this.maxElapsedMillis) return OptionalLong.empty();
+
+        if (this.budget.getAndUpdate(current -> current >= TOKEN ? current - TOKEN : current) < TOKEN) {
+            this.budgetExhausted.increment();
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(delay);
+    }
+}
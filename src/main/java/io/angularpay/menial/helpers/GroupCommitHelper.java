@@ -0,0 +1,131 @@
+package io.angularpay.menial.helpers;
+
+import io.angularpay.menial.configurations.AngularPayConfiguration;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Coalesces items submitted for the same key within a short window into a single write. The first
+ * submitter becomes the leader. Without another write in flight for the key it writes at once; otherwise it
+ * waits out the window, or until the batch is full, closes the batch and runs the write for everyone. The
+ * others block until that write completes and get their own result or the shared failure.
+ */
+@Service
+public class GroupCommitHelper {
+
+    private final Map<String, Slot> slots = new ConcurrentHashMap<>();
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final DistributionSummary batchSize;
+
+    public GroupCommitHelper(AngularPayConfiguration configuration, MeterRegistry meterRegistry) {
+        AngularPayConfiguration.GroupCommit groupCommit = configuration.getGroupCommit();
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(groupCommit.getWindowMillis());
+        this.maxBatchSize = Math.max(1, groupCommit.getMaxBatchSize());
+        this.batchSize = meterRegistry.summary("menial.command.group.commit.size");
+    }
+
+    /**
+     * @param writer applied once to all the items of the batch, returning one result per item in the same
+     *               order; only the leader's writer is used, so every submitter for a key must pass an
+     *               equivalent one
+     * @return the result for {@code item}
+     */
+    public <V> V submit(String key, Object item, Function<List<Object>, List<V>> writer) {
+        if (this.windowNanos <= 0) {
+            this.batchSize.record(1);
+            return writer.apply(Collections.singletonList(item)).get(0);
+        }
+
+        Batch[] joined = new Batch[1];
+        int[] index = new int[1];
+        // appends and the leader's removal are atomic per key, so no item lands in a batch after it closed
+        this.slots.compute(key, (k, slot) -> {
+            if (Objects.isNull(slot)) slot = new Slot();
+            if (Objects.isNull(slot.open) || slot.open.full) {
+                slot.open = new Batch(Thread.currentThread(), slot.writing > 0);
+            }
+            Batch batch = slot.open;
+            index[0] = batch.items.size();
+            batch.items.add(item);
+            batch.full = batch.items.size() >= this.maxBatchSize;
+            joined[0] = batch;
+            return slot;
+        });
+        Batch batch = joined[0];
+
+        if (batch.leader != Thread.currentThread()) {
+            if (batch.full) LockSupport.unpark(batch.leader);
+            return this.await(batch, index[0]);
+        }
+
+        if (batch.contended) {
+            long deadline = System.nanoTime() + this.windowNanos;
+            for (long remaining = this.windowNanos; remaining > 0 && !batch.full; remaining = deadline - System.nanoTime()) {
+                LockSupport.parkNanos(this, remaining);
+            }
+        }
+        // closes the batch unless a full one was already replaced, and publishes every append made to it
+        this.slots.computeIfPresent(key, (k, slot) -> {
+            if (slot.open == batch) slot.open = null;
+            slot.writing++;
+            return slot;
+        });
+        try {
+            this.batchSize.record(batch.items.size());
+            List<V> results = writer.apply(batch.items);
+            batch.result.complete(results);
+            return results.get(index[0]);
+        } catch (Throwable throwable) {
+            batch.result.completeExceptionally(throwable);
+            throw throwable;
+        } finally {
+            this.slots.computeIfPresent(key, (k, slot) -> --slot.writing == 0 && Objects.isNull(slot.open) ? null : slot);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <V> V await(Batch batch, int index) {
+        try {
+            return (V) batch.result.join().get(index);
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException) throw (RuntimeException) exception.getCause();
+            throw exception;
+        }
+    }
+
+    /**
+     * State of one key, only touched inside the map's compute functions.
+     */
+    private static class Slot {
+        private Batch open;
+        private int writing;
+    }
+
+    private static class Batch {
+        private final Thread leader;
+        // whether a write for the key was in flight when the batch opened, the only case worth waiting for
+        private final boolean contended;
+        private final List<Object> items = new ArrayList<>();
+        private final CompletableFuture<List<?>> result = new CompletableFuture<>();
+        private volatile boolean full;
+
+        private Batch(Thread leader, boolean contended) {
+            this.leader = leader;
+            this.contended = contended;
+        }
+    }
+}
@@ -1,14 +1,11 @@
 package io.angularpay.menial.helpers;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.angularpay.menial.domain.MenialRequest;
 import io.angularpay.menial.domain.Role;
 import io.angularpay.menial.domain.ServiceProvider;
 import io.angularpay.menial.exceptions.ErrorObject;
-import io.angularpay.menial.models.AccessControl;
 import io.angularpay.menial.models.AuthenticatedUser;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
@@ -119,14 +116,6 @@ public class Helper {
         }
     }
 
-    public static <T extends AccessControl> String maskAuthenticatedUser(ObjectMapper mapper, T raw) {
-        JsonNode node = mapper.convertValue(raw, JsonNode.class);
-        JsonNode authenticatedUser = node.get("authenticatedUser");
-        ((ObjectNode) authenticatedUser).put("username", maskUsername(raw.getAuthenticatedUser().getUsername()));
-        ((ObjectNode) authenticatedUser).put("userReference", maskUserReference(raw.getAuthenticatedUser().getUserReference()));
-        return node.toString();
-    }
-
     public static List<String> getAllPartiesExceptActor(MenialRequest request, String itemReference) {
         List<String> investors = request.getServiceProviders().stream()
                 .filter(x -> !x.getReference().equalsIgnoreCase(itemReference))
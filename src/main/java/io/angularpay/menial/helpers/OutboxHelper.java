@@ -0,0 +1,198 @@
+package io.angularpay.menial.helpers;
+
+import io.angularpay.menial.adapters.outbound.MongoAdapter;
+import io.angularpay.menial.adapters.outbound.RedisAdapter;
+import io.angularpay.menial.configurations.AngularPayConfiguration;
+import io.angularpay.menial.domain.MenialRequest;
+import io.angularpay.menial.domain.OutboxChannel;
+import io.angularpay.menial.domain.OutboxLease;
+import io.angularpay.menial.domain.OutboxMessage;
+import io.angularpay.menial.domain.OutboxStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.CollectionUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Relays the REDIS messages written to {@link MenialRequest#getOutbox()} together with the change they announce.
+ * Requests are leased to one relay at a time, so delivery is at-least-once and ordered per request: a request
+ * whose messages cannot be published keeps all of them, later ones included, until it is retried, without holding
+ * back the other requests of its batch. Messages still failing after {@code maxAttempts} are moved to the
+ * menial_outbox collection as FAILED and expire from there.
+ */
+@Slf4j
+@Service
+public class OutboxHelper {
+
+    private final MongoAdapter mongoAdapter;
+    private final RedisAdapter redisAdapter;
+    private final PublisherHelper publisherHelper;
+    private final AngularPayConfiguration configuration;
+    private final MeterRegistry meterRegistry;
+    private final String owner;
+    private final AtomicBoolean relaying = new AtomicBoolean();
+    private final AtomicBoolean relayRequested = new AtomicBoolean();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public OutboxHelper(
+            MongoAdapter mongoAdapter,
+            RedisAdapter redisAdapter,
+            PublisherHelper publisherHelper,
+            AngularPayConfiguration configuration,
+            MeterRegistry meterRegistry) {
+        this.mongoAdapter = mongoAdapter;
+        this.redisAdapter = redisAdapter;
+        this.publisherHelper = publisherHelper;
+        this.configuration = configuration;
+        this.meterRegistry = meterRegistry;
+        this.owner = Objects.toString(configuration.getNodeId(), "");
+        meterRegistry.gauge("menial.outbox.lag", this.lagMillis, AtomicLong::doubleValue);
+        meterRegistry.gauge("menial.outbox.dead.letters", this.failed, AtomicLong::doubleValue);
+    }
+
+    public OutboxMessage message(String requestReference, OutboxChannel channel, String payload) {
+        return OutboxMessage.builder()
+                .id(UUID.randomUUID().toString())
+                .requestReference(requestReference)
+                .channel(channel)
+                .payload(payload)
+                .status(OutboxStatus.PENDING)
+                .createdOn(Instant.now())
+                .build();
+    }
+
+    /**
+     * Relays right away instead of waiting for the next scheduled run, for messages just written by {@code name}.
+     */
+    public void relaySoon(String name) {
+        this.publisherHelper.submit(name, "outbox", this::relay);
+    }
+
+    @Scheduled(fixedDelayString = "${angularpay.outbox.relayIntervalMillis}")
+    public void relay() {
+        if (!this.relaying.compareAndSet(false, true)) {
+            this.relayRequested.set(true);
+            return;
+        }
+        try {
+            do {
+                this.relayRequested.set(false);
+                while (this.relayBatch() == this.configuration.getOutbox().getBatchSize()) {
+                    log.debug("outbox batch was full, relaying the next one");
+                }
+            } while (this.relayRequested.get());
+            this.lagMillis.set(this.mongoAdapter.findOldestPendingOutboxMessage()
+                    .map(createdOn -> Duration.between(createdOn, Instant.now()).toMillis())
+                    .orElse(0L));
+            this.failed.set(this.mongoAdapter.getFailedOutboxMessageCount());
+        } catch (Exception exception) {
+            log.error("An error occurred while relaying outbox messages", exception);
+        } finally {
+            this.relaying.set(false);
+        }
+    }
+
+    /**
+     * @return the number of requests found, 0 when there is no point in reading the next batch right away
+     */
+    private int relayBatch() {
+        AngularPayConfiguration.Outbox outbox = this.configuration.getOutbox();
+        Instant now = Instant.now();
+        List<MenialRequest> candidates = this.mongoAdapter.findRequestsWithPendingOutbox(now, outbox.getBatchSize());
+        if (candidates.isEmpty()) return 0;
+
+        OutboxLease lease = OutboxLease.builder()
+                .owner(this.owner)
+                .token(UUID.randomUUID().toString())
+                .until(now.plusSeconds(outbox.getLeaseSeconds()))
+                .build();
+        List<String> ids = candidates.stream().map(MenialRequest::getId).collect(Collectors.toList());
+        List<MenialRequest> leased = this.mongoAdapter.leaseOutbox(ids, now, lease);
+        if (leased.isEmpty()) return 0;
+
+        Map<String, List<OutboxMessage>> messagesById = new LinkedHashMap<>();
+        leased.forEach(request -> messagesById.put(request.getId(),
+                Objects.isNull(request.getOutbox()) ? new ArrayList<>() : request.getOutbox()));
+
+        Map<String, Exception> failures = this.redisAdapter.publishAll(messagesById);
+
+        Map<String, List<String>> relayed = new LinkedHashMap<>();
+        List<MenialRequest> failedRequests = new ArrayList<>();
+        int published = 0;
+        for (MenialRequest request : leased) {
+            List<OutboxMessage> messages = messagesById.get(request.getId());
+            if (failures.containsKey(request.getId())) {
+                failedRequests.add(request);
+            } else {
+                relayed.put(request.getId(), messages.stream().map(OutboxMessage::getId).collect(Collectors.toList()));
+                published += messages.size();
+            }
+        }
+        if (!relayed.isEmpty()) {
+            this.mongoAdapter.releaseOutbox(relayed, lease.getToken());
+            this.meterRegistry.counter("menial.outbox.published").increment(published);
+        }
+        if (!failedRequests.isEmpty()) {
+            log.error("unable to relay the outbox messages of {} of {} requests",
+                    failedRequests.size(), leased.size(), failures.values().iterator().next());
+            this.reschedule(failedRequests, failures, lease.getToken(), now);
+            return 0;
+        }
+        return candidates.size();
+    }
+
+    private void reschedule(List<MenialRequest> failedRequests, Map<String, Exception> failures, String token, Instant now) {
+        AngularPayConfiguration.Outbox outbox = this.configuration.getOutbox();
+        Map<Integer, Map<String, List<String>>> retriedByAttempts = new LinkedHashMap<>();
+        Map<String, List<String>> deadLettered = new LinkedHashMap<>();
+        List<OutboxMessage> failedMessages = new ArrayList<>();
+        for (MenialRequest request : failedRequests) {
+            List<OutboxMessage> pending = Objects.isNull(request.getOutbox()) ? new ArrayList<>() : request.getOutbox();
+            int attempts = Objects.isNull(request.getOutboxLease()) ? 1 : request.getOutboxLease().getAttempts() + 1;
+            String lastError = failures.get(request.getId()).getMessage();
+            if (attempts >= outbox.getMaxAttempts()) {
+                log.error("giving up on {} outbox messages for request {} after {} attempts",
+                        pending.size(), request.getReference(), attempts);
+                pending.forEach(message -> failedMessages.add(message.toBuilder()
+                        .requestReference(request.getReference())
+                        .status(OutboxStatus.FAILED)
+                        .attempts(attempts)
+                        .failedOn(now)
+                        .lastError(lastError)
+                        .build()));
+                deadLettered.put(request.getId(), pending.stream().map(OutboxMessage::getId).collect(Collectors.toList()));
+            } else {
+                retriedByAttempts.computeIfAbsent(attempts, key -> new LinkedHashMap<>())
+                        .computeIfAbsent(lastError, key -> new ArrayList<>())
+                        .add(request.getId());
+            }
+        }
+
+        retriedByAttempts.forEach((attempts, idsByError) -> {
+            long backoff = Math.min(outbox.getMaxBackoffMillis(), outbox.getInitialBackoffMillis() << Math.min(attempts - 1, 20));
+            idsByError.forEach((lastError, ids) -> {
+                this.mongoAdapter.rescheduleOutbox(ids, token, now.plusMillis(backoff), lastError);
+                this.meterRegistry.counter("menial.outbox.retried").increment(ids.size());
+            });
+        });
+        if (!CollectionUtils.isEmpty(failedMessages)) {
+            this.mongoAdapter.createFailedOutboxMessages(failedMessages);
+            this.mongoAdapter.releaseOutbox(deadLettered, token);
+            this.meterRegistry.counter("menial.outbox.failed").increment(failedMessages.size());
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package io.angularpay.menial.helpers;
+
+import io.angularpay.menial.configurations.AngularPayConfiguration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Hands out log arguments that only serialize their payload when the logger actually formats them,
+ * so payloads cost nothing while the level is off. Serialization stops once the configured size cap
+ * is reached, and can be sampled or disabled per command under {@code angularpay.logging.payloads}.
+ */
+@Slf4j
+@Service
+public class PayloadLoggingHelper {
+
+    private static final String NOT_SAMPLED = "[payload not sampled]";
+    private static final String DISABLED = "[payload logging disabled]";
+
+    private final SerializationHelper serializationHelper;
+    private final AngularPayConfiguration configuration;
+
+    public PayloadLoggingHelper(SerializationHelper serializationHelper, AngularPayConfiguration configuration) {
+        this.serializationHelper = serializationHelper;
+        this.configuration = configuration;
+    }
+
+    public Object payload(String command, Object value) {
+        return new LazyPayload(command, value, false);
+    }
+
+    public Object maskedPayload(String command, Object value) {
+        return new LazyPayload(command, value, true);
+    }
+
+    private String render(String command, Object value, boolean masked) {
+        AngularPayConfiguration.PayloadLogging defaults = this.configuration.getLogging().getPayloads();
+        AngularPayConfiguration.PayloadLogging overrides = Optional.ofNullable(defaults.getCommands())
+                .map(commands -> commands.get(command))
+                .orElse(null);
+
+        if (!Boolean.TRUE.equals(setting(overrides, defaults, AngularPayConfiguration.PayloadLogging::getEnabled))) {
+            return DISABLED;
+        }
+        Double sampleRate = setting(overrides, defaults, AngularPayConfiguration.PayloadLogging::getSampleRate);
+        if (Objects.nonNull(sampleRate) && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return NOT_SAMPLED;
+        }
+        if (Objects.isNull(value)) return "null";
+
+        Integer maxChars = setting(overrides, defaults, AngularPayConfiguration.PayloadLogging::getMaxChars);
+        CappedWriter writer = new CappedWriter(Objects.isNull(maxChars) ? Integer.MAX_VALUE : maxChars);
+        try {
+            this.serializationHelper.writeTo(writer, value, masked);
+        } catch (CappedWriter.CapReachedException exception) {
+            return writer.toString() + "...[truncated]";
+        } catch (IOException exception) {
+            log.error("An error occurred while writing source parameter as string", exception);
+            return "";
+        }
+        return writer.toString();
+    }
+
+    private static <T> T setting(AngularPayConfiguration.PayloadLogging overrides,
+                                 AngularPayConfiguration.PayloadLogging defaults,
+                                 Function<AngularPayConfiguration.PayloadLogging, T> getter) {
+        T value = Objects.isNull(overrides) ? null : getter.apply(overrides);
+        return Objects.nonNull(value) ? value : getter.apply(defaults);
+    }
+
+    private class LazyPayload {
+        private final String command;
+        private final Object value;
+        private final boolean masked;
+        private String rendered;
+
+        LazyPayload(String command, Object value, boolean masked) {
+            this.command = command;
+            this.value = value;
+            this.masked = masked;
+        }
+
+        @Override
+        public String toString() {
+            // the same argument is often logged more than once, render it a single time
+            if (Objects.isNull(this.rendered)) {
+                this.rendered = render(this.command, this.value, this.masked);
+            }
+            return this.rendered;
+        }
+    }
+
+    private static class CappedWriter extends Writer {
+        private final StringBuilder builder = new StringBuilder();
+        private final int maxChars;
+
+        CappedWriter(int maxChars) {
+            this.maxChars = maxChars;
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) throws IOException {
+            int remaining = this.maxChars - this.builder.length();
+            if (length > remaining) {
+                this.builder.append(buffer, offset, Math.max(remaining, 0));
+                throw new CapReachedException();
+            }
+            this.builder.append(buffer, offset, length);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String toString() {
+            return this.builder.toString();
+        }
+
+        private static class CapReachedException extends IOException {
+            CapReachedException() {
+                super("payload log cap reached", null);
+            }
+        }
+    }
+}
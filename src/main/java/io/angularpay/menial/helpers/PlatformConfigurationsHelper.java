@@ -0,0 +1,63 @@
+package io.angularpay.menial.helpers;
+
+import io.angularpay.menial.models.platform.PlatformConfigurations;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * Holds the current {@link PlatformConfigurations} snapshot. Reads are a single volatile load, updates are
+ * copy-on-write and swapped in with a CAS so readers never see a half-applied change.
+ */
+@Slf4j
+@Service
+public class PlatformConfigurationsHelper {
+
+    private final AtomicReference<PlatformConfigurations> snapshot = new AtomicReference<>(
+            PlatformConfigurations.builder().updatedOn(Instant.now()).build());
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    public PlatformConfigurations getSnapshot() {
+        return this.snapshot.get();
+    }
+
+    public PlatformConfigurations update(UnaryOperator<PlatformConfigurations.PlatformConfigurationsBuilder> change) {
+        PlatformConfigurations previous;
+        PlatformConfigurations current;
+        do {
+            previous = this.snapshot.get();
+            current = change.apply(previous.toBuilder())
+                    .version(previous.getVersion() + 1)
+                    .updatedOn(Instant.now())
+                    .build();
+        } while (!this.snapshot.compareAndSet(previous, current));
+
+        log.info("platform configurations updated to version {}", current.getVersion());
+        for (Listener listener : this.listeners) {
+            try {
+                listener.onChange(previous, current);
+            } catch (Exception exception) {
+                log.error("platform configurations listener failed for version {}", current.getVersion(), exception);
+            }
+        }
+        return current;
+    }
+
+    public void addListener(Listener listener) {
+        this.listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        this.listeners.remove(listener);
+    }
+
+    @FunctionalInterface
+    public interface Listener {
+        void onChange(PlatformConfigurations previous, PlatformConfigurations current);
+    }
+}
@@ -0,0 +1,46 @@
+package io.angularpay.menial.helpers;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import static io.angularpay.menial.configurations.PublisherExecutorConfiguration.PUBLISHER_EXECUTOR;
+
+@Slf4j
+@Service
+public class PublisherHelper {
+
+    private final ThreadPoolTaskExecutor executor;
+    private final MeterRegistry meterRegistry;
+
+    public PublisherHelper(@Qualifier(PUBLISHER_EXECUTOR) ThreadPoolTaskExecutor executor, MeterRegistry meterRegistry) {
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void submit(String name, String channel, Runnable task) {
+        Timer timer = Timer.builder("menial.publisher.latency")
+                .tag("command", name)
+                .tag("channel", channel)
+                .register(this.meterRegistry);
+        try {
+            this.executor.execute(() -> {
+                Timer.Sample sample = Timer.start(this.meterRegistry);
+                try {
+                    task.run();
+                } catch (Exception exception) {
+                    log.error("An error occurred while publishing {} {} message", name, channel, exception);
+                } finally {
+                    sample.stop(timer);
+                }
+            });
+        } catch (TaskRejectedException exception) {
+            this.meterRegistry.counter("menial.publisher.rejected", "command", name, "channel", channel).increment();
+            log.error("{} {} message was rejected by the publisher executor", name, channel, exception);
+        }
+    }
+}
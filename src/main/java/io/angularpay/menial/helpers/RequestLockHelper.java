@@ -0,0 +1,96 @@
+package io.angularpay.menial.helpers;
+
+import io.angularpay.menial.configurations.AngularPayConfiguration;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serializes writes to the same request within this node using a fixed set of striped locks, so local
+ * writers queue up instead of racing each other into optimistic-lock retries. Writers on other nodes are
+ * still arbitrated by the document version. A writer that cannot get its stripe in time runs unlocked
+ * rather than failing, since the version check keeps that safe.
+ */
+@Slf4j
+@Service
+public class RequestLockHelper {
+
+    private final ReentrantLock[] stripes;
+    private final long timeoutMillis;
+    private final Timer waitTimer;
+    private final Counter timeouts;
+
+    public RequestLockHelper(AngularPayConfiguration configuration, MeterRegistry meterRegistry) {
+        AngularPayConfiguration.Locks locks = configuration.getLocks();
+        // a power of two so the stripe is picked with a mask
+        int size = Integer.highestOneBit(Math.max(1, locks.getStripes() - 1) << 1);
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.timeoutMillis = locks.getTimeoutMillis();
+        this.waitTimer = meterRegistry.timer("menial.command.lock.wait");
+        this.timeouts = meterRegistry.counter("menial.command.lock.timeouts");
+    }
+
+    public <V> V withLock(String requestReference, Supplier<V> supplier) {
+        ReentrantLock lock = this.stripe(requestReference);
+        boolean locked = this.acquire(lock, "request " + requestReference);
+        try {
+            return supplier.get();
+        } finally {
+            if (locked) lock.unlock();
+        }
+    }
+
+    /**
+     * Like {@link #withLock} for several requests at once. Stripes are taken in index order, so two callers
+     * locking overlapping sets can never wait on each other.
+     */
+    public <V> V withLocks(Collection<String> requestReferences, Supplier<V> supplier) {
+        int[] indexes = requestReferences.stream().mapToInt(this::stripeIndex).distinct().sorted().toArray();
+        Deque<ReentrantLock> locked = new ArrayDeque<>();
+        try {
+            for (int index : indexes) {
+                ReentrantLock lock = this.stripes[index];
+                if (this.acquire(lock, "stripe " + index)) locked.push(lock);
+            }
+            return supplier.get();
+        } finally {
+            locked.forEach(ReentrantLock::unlock);
+        }
+    }
+
+    private boolean acquire(ReentrantLock lock, String holder) {
+        long start = System.nanoTime();
+        try {
+            if (lock.tryLock(this.timeoutMillis, TimeUnit.MILLISECONDS)) return true;
+            this.timeouts.increment();
+            log.warn("timed out waiting for the write lock of {}, proceeding unlocked", holder);
+            return false;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            this.waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private ReentrantLock stripe(String requestReference) {
+        return this.stripes[this.stripeIndex(requestReference)];
+    }
+
+    private int stripeIndex(String requestReference) {
+        int hash = requestReference.hashCode();
+        return (hash ^ (hash >>> 16)) & (this.stripes.length - 1);
+    }
+}
@@ -0,0 +1,23 @@
+package io.angularpay.menial.helpers;
+
+import java.util.OptionalLong;
+
+/**
+ * Decides whether, and after how long, {@link CommandHelper#executeAcid} retries a write that lost an
+ * optimistic-lock race. Provide a {@code RetryPolicy} bean to replace the default.
+ */
+public interface RetryPolicy {
+
+    /**
+     * @param retry          1 for the first retry, 2 for the second and so on
+     * @param elapsedMillis  time spent since the first attempt started
+     * @return the delay before the next attempt, or empty to give up
+     */
+    OptionalLong nextBackoffMillis(int retry, long elapsedMillis);
+
+    /**
+     * Called once per {@code executeAcid} invocation, before the first attempt.
+     */
+    default void onCall() {
+    }
+}
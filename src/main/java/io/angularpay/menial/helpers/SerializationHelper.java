@@ -0,0 +1,99 @@
+package io.angularpay.menial.helpers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import io.angularpay.menial.models.AuthenticatedUser;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.angularpay.menial.helpers.Helper.maskUserReference;
+import static io.angularpay.menial.helpers.Helper.maskUsername;
+
+/**
+ * Serializes with {@link ObjectWriter}s cached per runtime type. The masked variant writes
+ * {@link AuthenticatedUser} with its username and user reference masked while streaming,
+ * without building an intermediate tree.
+ */
+@Service
+public class SerializationHelper {
+
+    private final ObjectMapper mapper;
+    private final ObjectMapper maskingMapper;
+    private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ObjectWriter> maskingWriters = new ConcurrentHashMap<>();
+
+    public SerializationHelper(ObjectMapper mapper) {
+        this.mapper = mapper;
+        this.maskingMapper = mapper.copy().registerModule(new SimpleModule()
+                .setSerializerModifier(new MaskingSerializerModifier()));
+    }
+
+    public String toJsonString(Object value) throws JsonProcessingException {
+        if (Objects.isNull(value)) return "null";
+        return this.writers.computeIfAbsent(value.getClass(), this.mapper::writerFor).writeValueAsString(value);
+    }
+
+    /**
+     * Streams {@code value} into {@code writer}, so callers can stop the serialization early.
+     */
+    public void writeTo(Writer writer, Object value, boolean masked) throws IOException {
+        Map<Class<?>, ObjectWriter> cache = masked ? this.maskingWriters : this.writers;
+        ObjectMapper source = masked ? this.maskingMapper : this.mapper;
+        cache.computeIfAbsent(value.getClass(), source::writerFor).writeValue(writer, value);
+    }
+
+    private static class MaskingSerializerModifier extends BeanSerializerModifier {
+        @Override
+        @SuppressWarnings("unchecked")
+        public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription description, JsonSerializer<?> serializer) {
+            if (AuthenticatedUser.class.isAssignableFrom(description.getBeanClass())) {
+                return new MaskedAuthenticatedUserSerializer((JsonSerializer<Object>) serializer);
+            }
+            return serializer;
+        }
+    }
+
+    private static class MaskedAuthenticatedUserSerializer extends StdSerializer<AuthenticatedUser> implements ResolvableSerializer {
+        private final JsonSerializer<Object> delegate;
+
+        MaskedAuthenticatedUserSerializer(JsonSerializer<Object> delegate) {
+            super(AuthenticatedUser.class);
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void resolve(SerializerProvider provider) throws JsonMappingException {
+            if (this.delegate instanceof ResolvableSerializer) {
+                ((ResolvableSerializer) this.delegate).resolve(provider);
+            }
+        }
+
+        @Override
+        public void serialize(AuthenticatedUser value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            this.delegate.serialize(AuthenticatedUser.builder()
+                    .username(maskUsername(value.getUsername()))
+                    .userReference(maskUserReference(value.getUserReference()))
+                    .deviceId(value.getDeviceId())
+                    .correlationId(value.getCorrelationId())
+                    .clientIp(value.getClientIp())
+                    .roles(value.getRoles())
+                    .build(), generator, provider);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package io.angularpay.menial.helpers;
+
+import io.angularpay.menial.adapters.outbound.MongoAdapter;
+import io.angularpay.menial.configurations.AngularPayConfiguration;
+import io.angularpay.menial.domain.RequestStatus;
+import io.angularpay.menial.models.RequestCounts;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Keeps an in-memory snapshot of request counts per status, refreshed in the background with a single aggregation.
+ * Readers only hit the database when the snapshot is older than the configured staleness window.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StatisticsHelper {
+
+    private final MongoAdapter mongoAdapter;
+    private final AngularPayConfiguration configuration;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    @Scheduled(fixedDelayString = "${angularpay.statistics.refreshIntervalMillis}")
+    public void refresh() {
+        try {
+            this.snapshot.set(this.load());
+        } catch (Exception exception) {
+            log.error("An error occurred while refreshing request statistics", exception);
+        }
+    }
+
+    public Snapshot getSnapshot() {
+        Snapshot current = this.snapshot.get();
+        Duration staleness = Duration.ofSeconds(this.configuration.getStatistics().getStalenessSeconds());
+        if (Objects.isNull(current) || current.getRefreshedOn().plus(staleness).isBefore(Instant.now())) {
+            current = this.load();
+            this.snapshot.set(current);
+        }
+        return current;
+    }
+
+    private Snapshot load() {
+        RequestCounts counts = this.mongoAdapter.getCountsByRequestStatus();
+        return new Snapshot(Collections.unmodifiableMap(counts.getByStatus()), counts.getTotal(), Instant.now());
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Snapshot {
+        private final Map<RequestStatus, Long> counts;
+        private final long total;
+        private final Instant refreshedOn;
+
+        public long getCount(RequestStatus status) {
+            return this.counts.getOrDefault(status, 0L);
+        }
+    }
+}
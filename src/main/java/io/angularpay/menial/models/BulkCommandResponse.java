@@ -0,0 +1,23 @@
+package io.angularpay.menial.models;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.angularpay.menial.domain.commands.MenialRequestsSupplier;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Results in the order the items were submitted. The per-item command responses of the successful items
+ * are kept for publishing and are not serialized.
+ */
+@Getter
+@Builder
+@RequiredArgsConstructor
+public class BulkCommandResponse implements MenialRequestsSupplier {
+
+    private final List<BulkItemResult> results;
+    @JsonIgnore
+    private final List<GenericCommandResponse> menialRequestSuppliers;
+}
@@ -0,0 +1,42 @@
+package io.angularpay.menial.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.angularpay.menial.exceptions.ErrorCode;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkItemResult {
+
+    @JsonProperty("request_reference")
+    private String requestReference;
+    @JsonProperty("investment_reference")
+    private String investmentReference;
+    private String reference;
+    private boolean successful;
+    @JsonProperty("error_code")
+    private ErrorCode errorCode;
+    @JsonProperty("error_message")
+    private String errorMessage;
+
+    public static BulkItemResult succeeded(String requestReference, String investmentReference, String reference) {
+        return BulkItemResult.builder()
+                .requestReference(requestReference)
+                .investmentReference(investmentReference)
+                .reference(reference)
+                .successful(true)
+                .build();
+    }
+
+    public static BulkItemResult failed(String requestReference, String investmentReference, ErrorCode errorCode) {
+        return BulkItemResult.builder()
+                .requestReference(requestReference)
+                .investmentReference(investmentReference)
+                .errorCode(errorCode)
+                .errorMessage(errorCode.getDefaultMessage())
+                .build();
+    }
+}
@@ -0,0 +1,27 @@
+package io.angularpay.menial.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import java.util.List;
+
+@EqualsAndHashCode(callSuper = true)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+public class BulkMakePaymentCommandRequest extends AccessControl {
+
+    @NotEmpty
+    @Valid
+    private List<BulkPaymentModel> payments;
+
+    BulkMakePaymentCommandRequest(AuthenticatedUser authenticatedUser) {
+        super(authenticatedUser);
+    }
+}
@@ -0,0 +1,31 @@
+package io.angularpay.menial.models;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkPaymentModel {
+
+    @NotEmpty
+    @JsonProperty("request_reference")
+    private String requestReference;
+
+    @NotEmpty
+    @JsonProperty("investment_reference")
+    private String investmentReference;
+
+    @NotNull
+    @Valid
+    @JsonProperty("payment_request")
+    private PaymentRequest paymentRequest;
+}
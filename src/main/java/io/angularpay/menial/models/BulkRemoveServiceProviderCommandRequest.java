@@ -0,0 +1,32 @@
+package io.angularpay.menial.models;
+
+import io.angularpay.menial.domain.DeletedBy;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import java.util.List;
+
+@EqualsAndHashCode(callSuper = true)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+public class BulkRemoveServiceProviderCommandRequest extends AccessControl {
+
+    @NotEmpty
+    @Valid
+    private List<InvestmentReferenceModel> investments;
+
+    @NotNull
+    private DeletedBy deletedBy;
+
+    BulkRemoveServiceProviderCommandRequest(AuthenticatedUser authenticatedUser) {
+        super(authenticatedUser);
+    }
+}
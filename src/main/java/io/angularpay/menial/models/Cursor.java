@@ -0,0 +1,51 @@
+package io.angularpay.menial.models;
+
+import io.angularpay.menial.domain.MenialRequest;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.bson.types.ObjectId;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Keyset position in the (created_on DESC, id DESC) ordering, exchanged with clients as an opaque token.
+ */
+@Data
+@AllArgsConstructor
+public class Cursor {
+
+    private static final String SEPARATOR = "|";
+
+    private String createdOn;
+    private String id;
+
+    public static Cursor from(MenialRequest request) {
+        return new Cursor(request.getCreatedOn(), request.getId());
+    }
+
+    public String encode() {
+        String raw = this.createdOn + SEPARATOR + this.id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return empty for a blank token (i.e. the first page)
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+     */
+    public static Optional<Cursor> decode(String token) {
+        if (!StringUtils.hasText(token)) return Optional.empty();
+        String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        int separator = raw.lastIndexOf(SEPARATOR);
+        if (separator <= 0 || separator == raw.length() - 1) {
+            throw new IllegalArgumentException("malformed continuation token");
+        }
+        String id = raw.substring(separator + 1);
+        if (!ObjectId.isValid(id)) {
+            throw new IllegalArgumentException("malformed continuation token");
+        }
+        return Optional.of(new Cursor(raw.substring(0, separator), id));
+    }
+}
@@ -0,0 +1,24 @@
+package io.angularpay.menial.models;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotEmpty;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvestmentReferenceModel {
+
+    @NotEmpty
+    @JsonProperty("request_reference")
+    private String requestReference;
+
+    @NotEmpty
+    @JsonProperty("investment_reference")
+    private String investmentReference;
+}
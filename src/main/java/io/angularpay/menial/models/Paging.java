@@ -12,4 +12,6 @@ import lombok.NoArgsConstructor;
 public class Paging {
     private int index;
     private int size;
+    // when not null, keyset paging is used and index is ignored; an empty cursor is the first page
+    private String cursor;
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package io.angularpay.menial.models;
+
+import io.angularpay.menial.domain.RequestStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@Builder
+public class RequestCounts {
+
+    private Map<RequestStatus, Long> byStatus;
+    // includes documents without a status, so it matches a plain count()
+    private long total;
+}
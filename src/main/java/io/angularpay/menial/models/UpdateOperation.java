@@ -0,0 +1,15 @@
+package io.angularpay.menial.models;
+
+public enum UpdateOperation {
+    REQUEST_CREATED,
+    SUMMARY_UPDATED,
+    AMOUNT_UPDATED,
+    STATUS_UPDATED,
+    SERVICE_PROVIDER_ADDED,
+    SERVICE_PROVIDER_REMOVED,
+    PAYMENT_MADE,
+    BARGAIN_ADDED,
+    BARGAIN_ACCEPTED,
+    BARGAIN_REJECTED,
+    BARGAIN_DELETED;
+}
@@ -0,0 +1,29 @@
+package io.angularpay.menial.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Change event published on the updates topic. Only the changed sub-document is sent, found at {@code path}
+ * in the request; subscribers that detect a gap in {@code version} should re-read {@code snapshot_link}.
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UpdatesMessage {
+
+    @JsonProperty("request_reference")
+    private String requestReference;
+    @JsonProperty("service_code")
+    private String serviceCode;
+    private int version;
+    private UpdateOperation operation;
+    private String path;
+    private Object change;
+    @JsonProperty("last_modified")
+    private String lastModified;
+    @JsonProperty("snapshot_link")
+    private String snapshotLink;
+}
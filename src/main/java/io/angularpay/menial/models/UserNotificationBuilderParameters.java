@@ -11,4 +11,6 @@ public class UserNotificationBuilderParameters<T, U> {
     private U request;
     private T commandResponse;
     private UserNotificationType type;
+    // the request serialized once for the whole audience
+    private String attributes;
 }
@@ -1,41 +1,117 @@
 
 package io.angularpay.menial.models.platform;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import lombok.Data;
-import org.springframework.stereotype.Component;
+import lombok.Builder;
+import lombok.Value;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 
-@Data
-@Component
+/**
+ * Immutable snapshot of the platform configurations. Updates build a new instance via {@link #toBuilder()}
+ * and swap it in atomically, see {@link io.angularpay.menial.helpers.PlatformConfigurationsHelper}.
+ */
+@Value
+@Builder(toBuilder = true)
 public class PlatformConfigurations {
 
+    private long version;
+
+    @JsonProperty("updated_on")
+    private Instant updatedOn;
+
     @JsonProperty("platform_banks")
-    private List<PlatformBank> platformBanks;
+    @Builder.Default
+    private List<PlatformBank> platformBanks = List.of();
 
     @JsonProperty("platform_countries")
-    private List<PlatformCountry> platformCountries;
+    @Builder.Default
+    private List<PlatformCountry> platformCountries = List.of();
 
     @JsonProperty("platform_country_features")
-    private List<PlatformCountryFeature> platformCountryFeatures;
+    @Builder.Default
+    private List<PlatformCountryFeature> platformCountryFeatures = List.of();
 
     @JsonProperty("platform_currencies")
-    private List<PlatformCurrency> platformCurrencies;
+    @Builder.Default
+    private List<PlatformCurrency> platformCurrencies = List.of();
 
     @JsonProperty("platform_maturity_configurations")
-    private List<PlatformMaturityConfiguration> platformMaturityConfigurations;
+    @Builder.Default
+    private List<PlatformMaturityConfiguration> platformMaturityConfigurations = List.of();
 
     @JsonProperty("platform_notification_types")
-    private List<PlatformNotificationType> platformNotificationTypes;
+    @Builder.Default
+    private List<PlatformNotificationType> platformNotificationTypes = List.of();
 
     @JsonProperty("platform_otp_types")
-    private List<PlatformOTPType> platformOTPTypes;
+    @Builder.Default
+    private List<PlatformOTPType> platformOTPTypes = List.of();
 
     @JsonProperty("platform_services")
-    private List<PlatformService> platformServices;
+    @Builder.Default
+    private List<PlatformService> platformServices = List.of();
 
     @JsonProperty("platform_ttl_configuration")
     private PlatformTTLConfiguration platformTTLConfiguration;
 
+    // keyed indexes, rebuilt together with the list they are derived from
+    @JsonIgnore
+    @Builder.Default
+    private Map<String, PlatformBank> banksByReference = Map.of();
+
+    @JsonIgnore
+    @Builder.Default
+    private Map<String, PlatformCountry> countriesByCode = Map.of();
+
+    @JsonIgnore
+    @Builder.Default
+    private Map<String, PlatformCountryFeature> countryFeaturesByCountryReference = Map.of();
+
+    @JsonIgnore
+    @Builder.Default
+    private Map<String, PlatformCurrency> currenciesByCode = Map.of();
+
+    @JsonIgnore
+    @Builder.Default
+    private Map<String, PlatformService> servicesByCode = Map.of();
+
+    public Optional<PlatformBank> findBank(String reference) {
+        return lookup(this.banksByReference, reference);
+    }
+
+    public Optional<PlatformCountry> findCountry(String code) {
+        return lookup(this.countriesByCode, code);
+    }
+
+    public Optional<PlatformCountryFeature> findCountryFeature(String countryCode) {
+        return findCountry(countryCode).flatMap(country -> lookup(this.countryFeaturesByCountryReference, country.getReference()));
+    }
+
+    public Optional<PlatformCurrency> findCurrency(String code) {
+        return lookup(this.currenciesByCode, code);
+    }
+
+    public Optional<PlatformService> findService(String code) {
+        return lookup(this.servicesByCode, code);
+    }
+
+    /**
+     * Codes and references are matched case-insensitively.
+     */
+    public static String indexKey(String value) {
+        return value.trim().toUpperCase(Locale.ENGLISH);
+    }
+
+    private static <T> Optional<T> lookup(Map<String, T> index, String key) {
+        if (Objects.isNull(key)) return Optional.empty();
+        return Optional.ofNullable(index.get(indexKey(key)));
+    }
+
 }
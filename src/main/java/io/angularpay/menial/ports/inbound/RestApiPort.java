@@ -2,6 +2,7 @@ package io.angularpay.menial.ports.inbound;
 
 import io.angularpay.menial.domain.*;
 import io.angularpay.menial.models.*;
+import org.springframework.http.ResponseEntity;
 
 import java.util.List;
 import java.util.Map;
@@ -20,13 +21,18 @@ public interface RestApiPort {
     void rejectBargain(String requestReference, String bargainReference, Map<String, String> headers);
     void deleteBargain(String requestReference, String bargainReference, Map<String, String> headers);
     GenericReferenceResponse makePayment(String requestReference, String investmentReference, PaymentRequest paymentRequest, Map<String, String> headers);
+    BulkCommandResponse makePayments(List<BulkPaymentModel> payments, Map<String, String> headers);
+    BulkCommandResponse removeServiceProvidersTTL(List<InvestmentReferenceModel> investments, Map<String, String> headers);
     void updateRequestStatus(String requestReference, RequestStatusModel status, Map<String, String> headers);
     MenialRequest getRequestByReference(String requestReference, Map<String, String> headers);
     List<MenialRequest> getNewsfeedModel(int page, Map<String, String> headers);
+    ResponseEntity<List<MenialRequest>> getNewsfeedModel(String cursor, Map<String, String> headers);
     List<UserRequestModel> getUserRequests(int page, Map<String, String> headers);
     List<UserInvestmentModel> getUserInvestments(int page, Map<String, String> headers);
     List<MenialRequest> getNewsfeedByStatus(int page, List<RequestStatus> statuses, Map<String, String> headers);
     List<MenialRequest> getRequestListByStatus(int page, List<RequestStatus> statuses, Map<String, String> headers);
+    ResponseEntity<List<MenialRequest>> getRequestListByStatus(String cursor, List<RequestStatus> statuses, Map<String, String> headers);
     List<MenialRequest> getRequestList(int page, Map<String, String> headers);
+    ResponseEntity<List<MenialRequest>> getRequestList(String cursor, Map<String, String> headers);
     List<Statistics> getStatistics(Map<String, String> headers);
 }
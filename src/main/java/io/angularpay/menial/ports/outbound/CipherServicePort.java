@@ -2,9 +2,12 @@ package io.angularpay.menial.ports.outbound;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import io.angularpay.menial.models.VerifySignatureResponseModel;
+import reactor.core.publisher.Mono;
 
 import java.util.Map;
 
 public interface CipherServicePort {
-    VerifySignatureResponseModel verifySignature(String requestBody, Map<String, String> headers) throws JsonProcessingException;
+    VerifySignatureResponseModel verifySignature(byte[] requestBody, Map<String, String> headers) throws JsonProcessingException;
+
+    Mono<VerifySignatureResponseModel> verifySignatureAsync(byte[] requestBody, Map<String, String> headers);
 }
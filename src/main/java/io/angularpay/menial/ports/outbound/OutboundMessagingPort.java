@@ -1,10 +1,11 @@
 package io.angularpay.menial.ports.outbound;
 
+import io.angularpay.menial.domain.OutboxMessage;
+
+import java.util.List;
 import java.util.Map;
 
 public interface OutboundMessagingPort {
-    void publishUpdates(String message);
-    void publishTTL(String message);
-    void publishUserNotification(String message);
+    Map<String, Exception> publishAll(Map<String, List<OutboxMessage>> messagesByKey);
     Map<String, String> getPlatformConfigurations(String hashName);
 }
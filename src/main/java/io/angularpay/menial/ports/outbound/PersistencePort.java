@@ -1,20 +1,40 @@
 package io.angularpay.menial.ports.outbound;
 
 import io.angularpay.menial.domain.MenialRequest;
+import io.angularpay.menial.domain.OutboxLease;
+import io.angularpay.menial.domain.OutboxMessage;
 import io.angularpay.menial.domain.RequestStatus;
-import org.springframework.data.domain.Page;
+import io.angularpay.menial.models.Cursor;
+import io.angularpay.menial.models.RequestCounts;
+import io.angularpay.menial.models.UserInvestmentModel;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.mongodb.core.query.Update;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface PersistencePort {
     MenialRequest createRequest(MenialRequest request);
-    MenialRequest updateRequest(MenialRequest request);
+    Optional<MenialRequest> applyUpdate(String reference, int expectedVersion, Update update);
+    void applyUpdates(Map<String, Update> updatesByReference, Map<String, Integer> expectedVersions);
     Optional<MenialRequest> findRequestByReference(String reference);
-    Page<MenialRequest> listRequests(Pageable pageable);
-    Page<MenialRequest> findRequestsByStatus(Pageable pageable, List<RequestStatus> statuses);
-    Page<MenialRequest> findByServiceClientUserReference(Pageable pageable, String userReference);
-    long getCountByRequestStatus(RequestStatus status);
-    long getTotalCount();
+    List<MenialRequest> findRequestsByReferences(Collection<String> references);
+    Slice<MenialRequest> listRequests(Pageable pageable);
+    List<MenialRequest> listRequestsAfter(Cursor cursor, int size);
+    Slice<MenialRequest> findRequestsByStatus(Pageable pageable, List<RequestStatus> statuses);
+    List<MenialRequest> findRequestsByStatusAfter(Cursor cursor, int size, List<RequestStatus> statuses);
+    Slice<MenialRequest> findRequestSummariesByServiceClientUserReference(Pageable pageable, String userReference);
+    List<UserInvestmentModel> findInvestmentsByUserReference(Pageable pageable, String userReference);
+    RequestCounts getCountsByRequestStatus();
+    List<MenialRequest> findRequestsWithPendingOutbox(Instant now, int limit);
+    List<MenialRequest> leaseOutbox(Collection<String> ids, Instant now, OutboxLease lease);
+    void releaseOutbox(Map<String, List<String>> relayedByRequestId, String token);
+    void rescheduleOutbox(Collection<String> ids, String token, Instant until, String lastError);
+    void createFailedOutboxMessages(List<OutboxMessage> messages);
+    Optional<Instant> findOldestPendingOutboxMessage();
+    long getFailedOutboxMessageCount();
 }
@@ -1,60 +1,93 @@
 package io.angularpay.menial.util;
 
-import lombok.AllArgsConstructor;
-import lombok.Getter;
-import lombok.Setter;
-import org.apache.commons.lang3.time.DateUtils;
+import org.springframework.util.StringUtils;
 
-import java.text.SimpleDateFormat;
-import java.time.Instant;
-import java.util.Calendar;
-import java.util.Date;
-import java.util.concurrent.atomic.AtomicReference;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.ChronoField;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
 
 import static io.angularpay.menial.common.Constants.SERVICE_CODE;
 
 public class SequenceGenerator {
 
-    public static final AtomicReference<DailySequence> cache = new AtomicReference<>();
+    private static final DateTimeFormatter TAG_FORMATTER = new DateTimeFormatterBuilder()
+            .appendValueReduced(ChronoField.YEAR, 2, 2, 2000)
+            .appendText(ChronoField.MONTH_OF_YEAR, upperCaseMonths())
+            .appendPattern("ddHHmmssSSS")
+            .toFormatter(Locale.ENGLISH);
 
-    static {
-        // set initial value
-        cache.set(new DailySequence(Date.from(Instant.now()), 0L));
+    // epoch day in the high bits, sequence within that day in the low bits, so both move in a single CAS
+    private static final int SEQUENCE_BITS = 40;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final AtomicLong dailySequence = new AtomicLong();
+
+    private static final Pattern ORDINAL = Pattern.compile(".*-(\\d{1,9})$");
+    private static final int NODE_HASH_LENGTH = 5;
+
+    private static volatile String nodeId;
+
+    /**
+     * Makes tags unique across replicas. Blank means single node, i.e. no node segment in the tag.
+     * The value is shortened with {@link #shortNodeId(String)} so host names never leak into tags.
+     */
+    public static void setNodeId(String value) {
+        nodeId = StringUtils.hasText(value) ? shortNodeId(value.trim()) : null;
     }
 
-    private static long getNextSequence() {
-        boolean success;
-        long nextSequence;
-        do {
-            DailySequence expectedValue = cache.get();
-            nextSequence = DateUtils.isSameDay(expectedValue.getDate(), Date.from(Instant.now())) ? expectedValue.getSequence() : 0L;
-            Date newDate = DateUtils.isSameDay(expectedValue.getDate(), Date.from(Instant.now())) ? expectedValue.getDate() : Date.from(Instant.now());
-            DailySequence newValue = new DailySequence(newDate, ++nextSequence);
-            success = cache.compareAndSet(expectedValue, newValue);
-        } while (!success);
-        return nextSequence;
+    /**
+     * StatefulSet style names (menial-service-2) keep their ordinal, anything else becomes a
+     * fixed-length base 36 hash, stable for as long as the host name is.
+     */
+    static String shortNodeId(String value) {
+        Matcher ordinal = ORDINAL.matcher(value);
+        if (ordinal.matches()) {
+            return String.valueOf(Long.parseLong(ordinal.group(1)));
+        }
+        CRC32 crc = new CRC32();
+        crc.update(value.getBytes(StandardCharsets.UTF_8));
+        long bound = (long) Math.pow(36, NODE_HASH_LENGTH);
+        String hash = Long.toString(crc.getValue() % bound, 36).toUpperCase(Locale.ENGLISH);
+        return "0".repeat(NODE_HASH_LENGTH - hash.length()) + hash;
     }
 
-    @Getter
-    @Setter
-    @AllArgsConstructor
-    private static class DailySequence {
-        private Date date;
-        private long sequence;
+    static long getNextSequence(long epochDay) {
+        long next = dailySequence.updateAndGet(current -> (current >>> SEQUENCE_BITS) == epochDay
+                ? current + 1
+                : (epochDay << SEQUENCE_BITS) | 1L);
+        return next & SEQUENCE_MASK;
     }
 
     public static String generateRequestTag() {
-        Calendar calendar = Calendar.getInstance();
-        calendar.setTime(Date.from(Instant.now()));
-
-        String year = new SimpleDateFormat("yy").format(calendar.getTime());
-        String month = new SimpleDateFormat("MMM").format(calendar.getTime());
-        String day = new SimpleDateFormat("dd").format(calendar.getTime());
-        String hour = new SimpleDateFormat("HH").format(calendar.getTime());
-        String minute = new SimpleDateFormat("mm").format(calendar.getTime());
-        String seconds = new SimpleDateFormat("ss").format(calendar.getTime());
-        String milliseconds = new SimpleDateFormat("SSS").format(calendar.getTime());
-
-        return "@" + SERVICE_CODE + year + month.toUpperCase() + day + hour + minute + seconds + milliseconds; // + getNextSequence();
+        LocalDateTime now = LocalDateTime.now();
+        long sequence = getNextSequence(now.toLocalDate().toEpochDay());
+
+        StringBuilder tag = new StringBuilder(40).append('@').append(SERVICE_CODE);
+        TAG_FORMATTER.formatTo(now, tag);
+        tag.append('-');
+        String node = nodeId;
+        if (Objects.nonNull(node)) {
+            tag.append(node).append('-');
+        }
+        return tag.append(sequence).toString();
+    }
+
+    private static Map<Long, String> upperCaseMonths() {
+        Map<Long, String> months = new HashMap<>();
+        DateTimeFormatter month = DateTimeFormatter.ofPattern("MMM", Locale.ENGLISH);
+        for (long value = 1; value <= 12; value++) {
+            months.put(value, month.format(Month.of((int) value)).toUpperCase(Locale.ENGLISH));
+        }
+        return months;
     }
 }
@@ -0,0 +1,86 @@
+package io.angularpay.menial.adapters.inbound;
+
+import io.angularpay.menial.adapters.outbound.CipherServiceAdapter;
+import io.angularpay.menial.configurations.AngularPayConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import reactor.core.publisher.Mono;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CipherFilterTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CipherServiceAdapter cipherServiceAdapter = mock(CipherServiceAdapter.class);
+    private CipherFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        AngularPayConfiguration.Cipher cipher = new AngularPayConfiguration.Cipher();
+        cipher.setMaxConcurrency(1);
+        cipher.setTimeoutMillis(60_000);
+        cipher.setMaxBodySizeInKB(1);
+        AngularPayConfiguration configuration = new AngularPayConfiguration();
+        configuration.setCipher(cipher);
+        this.filter = new CipherFilter(cipherServiceAdapter, configuration, meterRegistry);
+        when(cipherServiceAdapter.verifySignatureAsync(any(), anyMap())).thenReturn(Mono.never());
+    }
+
+    @Test
+    void servletTimeoutReleasesThePermitAndCompletesTheResponse() throws Exception {
+        MockHttpServletRequest request = request();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        this.filter.doFilter(request, response, new MockFilterChain());
+
+        MockAsyncContext asyncContext = (MockAsyncContext) request.getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+
+        assertEquals(503, response.getStatus());
+        assertTrue(this.isAdmitted());
+    }
+
+    @Test
+    void failingToStartAsyncReleasesThePermit() throws Exception {
+        MockHttpServletRequest request = request();
+        request.setAsyncSupported(false);
+
+        assertThrows(IllegalStateException.class,
+                () -> this.filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain()));
+
+        assertTrue(this.isAdmitted());
+    }
+
+    @Test
+    void verificationsBeyondTheLimitAreRejected() throws Exception {
+        this.filter.doFilter(request(), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertFalse(this.isAdmitted());
+    }
+
+    private boolean isAdmitted() throws Exception {
+        MockHttpServletRequest request = request();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        this.filter.doFilter(request, response, new MockFilterChain());
+        return request.isAsyncStarted();
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/menial/requests");
+        request.setAsyncSupported(true);
+        request.setContent("{}".getBytes());
+        return request;
+    }
+}
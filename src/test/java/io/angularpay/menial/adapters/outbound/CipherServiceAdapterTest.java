@@ -0,0 +1,75 @@
+package io.angularpay.menial.adapters.outbound;
+
+import io.angularpay.menial.configurations.AngularPayConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CipherServiceAdapterTest {
+
+    private static final byte[] BODY = "{}".getBytes();
+
+    private final List<ClientRequest> calls = new CopyOnWriteArrayList<>();
+    private final CipherServiceAdapter adapter = new CipherServiceAdapter(
+            WebClient.builder().exchangeFunction(request -> {
+                this.calls.add(request);
+                return Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body("{\"is_valid\":true}")
+                        .build());
+            }).build(),
+            configuration(),
+            new SimpleMeterRegistry());
+
+    @Test
+    void aRepeatedVerificationIsServedFromTheCache() {
+        assertTrue(this.adapter.verifySignature(BODY, headers("alice")).isValid());
+        assertTrue(this.adapter.verifySignature(BODY, headers("alice")).isValid());
+
+        assertEquals(1, this.calls.size());
+    }
+
+    @Test
+    void everyForwardedHeaderIsPartOfTheCacheKey() {
+        this.adapter.verifySignature(BODY, headers("alice"));
+        this.adapter.verifySignature(BODY, headers("mallory"));
+
+        assertEquals(2, this.calls.size());
+        assertEquals("mallory", this.calls.get(1).headers().getFirst("x-angularpay-username"));
+    }
+
+    private static Map<String, String> headers(String username) {
+        Map<String, String> headers = new HashMap<>();
+        headers.put("x-angularpay-cipher-reference", "cipher");
+        headers.put("x-angularpay-cipher-signature", "signature");
+        headers.put("x-angularpay-user-reference", "user");
+        headers.put("x-angularpay-device-id", "device");
+        headers.put("x-angularpay-username", username);
+        return headers;
+    }
+
+    private static AngularPayConfiguration configuration() {
+        AngularPayConfiguration.CacheSpec verifications = new AngularPayConfiguration.CacheSpec();
+        verifications.setMaxSize(100);
+        verifications.setTtlSeconds(60);
+        AngularPayConfiguration.Cache cache = new AngularPayConfiguration.Cache();
+        cache.setVerifications(verifications);
+        AngularPayConfiguration configuration = new AngularPayConfiguration();
+        configuration.setCipherUrl("http://cipher");
+        configuration.setCache(cache);
+        return configuration;
+    }
+}
@@ -0,0 +1,131 @@
+package io.angularpay.menial.adapters.outbound;
+
+import io.angularpay.menial.domain.MenialRequest;
+import io.angularpay.menial.models.Cursor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the keyset queries, as mapped for the driver, over in-memory rows with a minimal matcher that, like
+ * MongoDB, never matches a comparison between values of different types.
+ */
+class MongoAdapterCursorTest {
+
+    private final MongoMappingContext mappingContext = mappingContext();
+    private final QueryMapper queryMapper = new QueryMapper(new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext));
+    private final MongoPersistentEntity<?> entity = mappingContext.getRequiredPersistentEntity(MenialRequest.class);
+
+    private static MongoMappingContext mappingContext() {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(new MongoCustomConversions(Collections.emptyList()).getSimpleTypeHolder());
+        return mappingContext;
+    }
+
+    @Test
+    void tieBreakOnIdComparesObjectIds() {
+        Cursor cursor = new Cursor("2021-09-01T10:15:30Z", new ObjectId().toHexString());
+
+        Document filter = mappedFilter(MongoAdapter.afterQuery(new Criteria(), cursor, 10));
+
+        Document tieBreak = (Document) ((List<?>) ((Document) ((List<?>) filter.get("$and")).get(1)).get("$or")).get(1);
+        assertEquals(ObjectId.class, ((Document) tieBreak.get("_id")).get("$lt").getClass());
+    }
+
+    @Test
+    void pagesAcrossRowsWithTheSameCreatedOn() {
+        List<Document> rows = new ArrayList<>();
+        for (int i = 0; i < 5; i++) rows.add(row("2021-09-01T10:15:30Z"));
+        for (int i = 0; i < 2; i++) rows.add(row("2021-09-01T10:15:29Z"));
+        List<Document> expected = rows.stream()
+                .sorted(Comparator.comparing((Document row) -> row.getString("createdOn"))
+                        .thenComparing(row -> row.getObjectId("_id")).reversed())
+                .collect(Collectors.toList());
+
+        List<Document> seen = new ArrayList<>();
+        Cursor cursor = null;
+        List<Document> page;
+        do {
+            page = find(rows, MongoAdapter.afterQuery(new Criteria(), cursor, 2));
+            seen.addAll(page);
+            if (!page.isEmpty()) {
+                Document last = page.get(page.size() - 1);
+                cursor = new Cursor(last.getString("createdOn"), last.getObjectId("_id").toHexString());
+            }
+        } while (!page.isEmpty());
+
+        assertEquals(expected, seen);
+    }
+
+    @Test
+    void statusFilterIsKeptAlongsideTheCursor() {
+        Document match = row("2021-09-01T10:15:29Z").append("status", "ACTIVE");
+        Document other = row("2021-09-01T10:15:29Z").append("status", "COMPLETED");
+        Cursor cursor = new Cursor("2021-09-01T10:15:30Z", new ObjectId().toHexString());
+
+        List<Document> page = find(List.of(match, other), MongoAdapter.afterQuery(Criteria.where("status").is("ACTIVE"), cursor, 10));
+
+        assertEquals(List.of(match), page);
+    }
+
+    private List<Document> find(List<Document> rows, Query query) {
+        Document filter = mappedFilter(query);
+        return rows.stream()
+                .filter(row -> matches(filter, row))
+                .sorted(Comparator.comparing((Document row) -> row.getString("createdOn"))
+                        .thenComparing(row -> row.getObjectId("_id")).reversed())
+                .limit(query.getLimit())
+                .collect(Collectors.toList());
+    }
+
+    private Document mappedFilter(Query query) {
+        return queryMapper.getMappedObject(query.getQueryObject(), entity);
+    }
+
+    private static Document row(String createdOn) {
+        return new Document("_id", new ObjectId()).append("createdOn", createdOn);
+    }
+
+    private static boolean matches(Document filter, Document row) {
+        for (Map.Entry<String, Object> entry : filter.entrySet()) {
+            String key = entry.getKey();
+            if ("$and".equals(key)) {
+                if (!((List<?>) entry.getValue()).stream().allMatch(x -> matches((Document) x, row))) return false;
+            } else if ("$or".equals(key)) {
+                if (((List<?>) entry.getValue()).stream().noneMatch(x -> matches((Document) x, row))) return false;
+            } else if (entry.getValue() instanceof Document) {
+                Document operators = (Document) entry.getValue();
+                for (Map.Entry<String, Object> operator : operators.entrySet()) {
+                    if (!"$lt".equals(operator.getKey())) throw new UnsupportedOperationException(operator.getKey());
+                    if (!lessThan(row.get(key), operator.getValue())) return false;
+                }
+            } else if (!entry.getValue().equals(row.get(key))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static boolean lessThan(Object value, Object bound) {
+        if (value == null || value.getClass() != bound.getClass()) return false;
+        return ((Comparable) value).compareTo(bound) < 0;
+    }
+}
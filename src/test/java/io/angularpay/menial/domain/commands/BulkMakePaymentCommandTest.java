@@ -0,0 +1,126 @@
+package io.angularpay.menial.domain.commands;
+
+import io.angularpay.menial.domain.InvestmentStatus;
+import io.angularpay.menial.domain.InvestmentTransactionStatus;
+import io.angularpay.menial.domain.ServiceProvider;
+import io.angularpay.menial.helpers.OutboxHelper;
+import io.angularpay.menial.helpers.SerializationHelper;
+import io.angularpay.menial.models.BulkCommandResponse;
+import io.angularpay.menial.models.BulkItemResult;
+import io.angularpay.menial.models.BulkMakePaymentCommandRequest;
+import io.angularpay.menial.models.BulkPaymentModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static io.angularpay.menial.domain.commands.InMemoryRequests.menialRequest;
+import static io.angularpay.menial.domain.commands.InMemoryRequests.pending;
+import static io.angularpay.menial.exceptions.ErrorCode.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BulkMakePaymentCommandTest {
+
+    private InMemoryRequests requests;
+    private BulkMakePaymentCommand command;
+
+    @BeforeEach
+    void setUp() {
+        this.requests = new InMemoryRequests();
+        this.command = new BulkMakePaymentCommand(requests.mapper, null, requests.commandHelper,
+                mock(MakePaymentCommand.class), requests.configuration);
+        this.command.setOutboxHelper(mock(OutboxHelper.class));
+        this.command.setSerializationHelper(new SerializationHelper(requests.mapper));
+    }
+
+    @Test
+    void invalidItemsFailWithoutHoldingBackTheOthers() {
+        ServiceProvider removed = pending("removed");
+        removed.setDeleted(true);
+        requests.put(menialRequest("r1", pending("i1"), removed));
+        requests.put(menialRequest("r2", pending("i2")));
+
+        BulkCommandResponse response = command.handle(request(
+                payment("r1", "i1"), payment("r1", "removed"), payment("r1", "unknown"), payment("r2", "i2")));
+
+        List<BulkItemResult> results = response.getResults();
+        assertTrue(results.get(0).isSuccessful());
+        assertEquals(REQUEST_REMOVED_ERROR, results.get(1).getErrorCode());
+        assertEquals(REQUEST_NOT_FOUND, results.get(2).getErrorCode());
+        assertTrue(results.get(3).isSuccessful());
+
+        assertPaid("r1", "i1", results.get(0).getReference());
+        assertNull(provider("r1", "removed").getInvestmentStatus());
+        assertPaid("r2", "i2", results.get(3).getReference());
+        verify(requests.mongoAdapter, times(1)).applyUpdates(anyMap(), anyMap());
+        verify(requests.mongoAdapter, never()).applyUpdate(anyString(), anyInt(), any());
+        assertEquals(2, response.getMenialRequestSuppliers().size());
+    }
+
+    @Test
+    void requestThatLostTheBulkWriteIsRetriedOnItsOwn() {
+        requests.put(menialRequest("r1", pending("i1"), pending("i2")));
+        requests.beforeWrite = reference -> {
+            requests.bump(reference);
+            requests.beforeWrite = ignored -> {
+            };
+        };
+
+        BulkCommandResponse response = command.handle(request(payment("r1", "i1"), payment("r1", "i2")));
+
+        assertTrue(response.getResults().stream().allMatch(BulkItemResult::isSuccessful));
+        assertPaid("r1", "i1", response.getResults().get(0).getReference());
+        assertPaid("r1", "i2", response.getResults().get(1).getReference());
+        verify(requests.mongoAdapter).applyUpdate(eq("r1"), eq(2), any());
+        assertEquals(4, requests.get("r1").getVersion());
+    }
+
+    @Test
+    void itemPaidByTheWinnerOfAConflictFailsOnRetry() {
+        requests.put(menialRequest("r1", pending("i1")));
+        requests.beforeWrite = reference -> {
+            provider("r1", "i1").setInvestmentStatus(InvestmentStatus.builder()
+                    .status(InvestmentTransactionStatus.SUCCESSFUL)
+                    .transactionReference("theirs")
+                    .build());
+            requests.bump(reference);
+            requests.beforeWrite = ignored -> {
+            };
+        };
+
+        BulkCommandResponse response = command.handle(request(payment("r1", "i1")));
+
+        assertEquals(REQUEST_COMPLETED_ERROR, response.getResults().get(0).getErrorCode());
+        assertEquals("theirs", provider("r1", "i1").getInvestmentStatus().getTransactionReference());
+        assertTrue(response.getMenialRequestSuppliers().isEmpty());
+    }
+
+    private void assertPaid(String requestReference, String investmentReference, String transactionReference) {
+        ServiceProvider provider = provider(requestReference, investmentReference);
+        assertEquals(InvestmentTransactionStatus.SUCCESSFUL, provider.getInvestmentStatus().getStatus());
+        assertEquals(transactionReference, provider.getInvestmentStatus().getTransactionReference());
+    }
+
+    private ServiceProvider provider(String requestReference, String investmentReference) {
+        return requests.get(requestReference).getServiceProviders().stream()
+                .filter(x -> x.getReference().equals(investmentReference))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static BulkPaymentModel payment(String requestReference, String investmentReference) {
+        return BulkPaymentModel.builder()
+                .requestReference(requestReference)
+                .investmentReference(investmentReference)
+                .build();
+    }
+
+    private static BulkMakePaymentCommandRequest request(BulkPaymentModel... payments) {
+        return BulkMakePaymentCommandRequest.builder()
+                .payments(Arrays.asList(payments))
+                .build();
+    }
+}
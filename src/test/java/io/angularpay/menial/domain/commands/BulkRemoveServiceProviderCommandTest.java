@@ -0,0 +1,126 @@
+package io.angularpay.menial.domain.commands;
+
+import io.angularpay.menial.domain.DeletedBy;
+import io.angularpay.menial.domain.InvestmentStatus;
+import io.angularpay.menial.domain.InvestmentTransactionStatus;
+import io.angularpay.menial.domain.ServiceProvider;
+import io.angularpay.menial.helpers.OutboxHelper;
+import io.angularpay.menial.helpers.SerializationHelper;
+import io.angularpay.menial.models.BulkCommandResponse;
+import io.angularpay.menial.models.BulkItemResult;
+import io.angularpay.menial.models.BulkRemoveServiceProviderCommandRequest;
+import io.angularpay.menial.models.InvestmentReferenceModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static io.angularpay.menial.domain.commands.InMemoryRequests.pending;
+import static io.angularpay.menial.domain.commands.InMemoryRequests.menialRequest;
+import static io.angularpay.menial.exceptions.ErrorCode.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BulkRemoveServiceProviderCommandTest {
+
+    private InMemoryRequests requests;
+    private BulkRemoveServiceProviderCommand command;
+
+    @BeforeEach
+    void setUp() {
+        this.requests = new InMemoryRequests();
+        this.command = new BulkRemoveServiceProviderCommand(requests.mapper, null, requests.commandHelper,
+                mock(RemoveServiceProviderCommand.class), requests.configuration);
+        this.command.setOutboxHelper(mock(OutboxHelper.class));
+        this.command.setSerializationHelper(new SerializationHelper(requests.mapper));
+    }
+
+    @Test
+    void invalidItemsFailWithoutHoldingBackTheOthers() {
+        ServiceProvider paid = pending("paid");
+        paid.setInvestmentStatus(InvestmentStatus.builder().status(InvestmentTransactionStatus.SUCCESSFUL).build());
+        requests.put(menialRequest("r1", pending("i1"), paid, pending("i2")));
+
+        BulkCommandResponse response = command.handle(request(
+                investment("r1", "i1"), investment("r1", "paid"), investment("missing", "i3"), investment("r1", "i2")));
+
+        List<BulkItemResult> results = response.getResults();
+        assertTrue(results.get(0).isSuccessful());
+        assertEquals(REQUEST_COMPLETED_ERROR, results.get(1).getErrorCode());
+        assertEquals(REQUEST_NOT_FOUND, results.get(2).getErrorCode());
+        assertTrue(results.get(3).isSuccessful());
+
+        assertTrue(provider("r1", "i1").isDeleted());
+        assertFalse(provider("r1", "paid").isDeleted());
+        assertTrue(provider("r1", "i2").isDeleted());
+        // one bulk write, moving the version on once per removed item
+        verify(requests.mongoAdapter, times(1)).applyUpdates(anyMap(), anyMap());
+        assertEquals(3, requests.get("r1").getVersion());
+        assertEquals(List.of(2, 3), response.getMenialRequestSuppliers().stream()
+                .map(x -> x.getMenialRequest().getVersion())
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void requestThatLostTheBulkWriteIsRetriedOnItsOwn() {
+        requests.put(menialRequest("r1", pending("i1")));
+        requests.put(menialRequest("r2", pending("i2")));
+        // another writer gets to r1 between the read and the bulk write, once
+        requests.beforeWrite = reference -> {
+            if (reference.equals("r1")) {
+                requests.bump("r1");
+                requests.beforeWrite = ignored -> {
+                };
+            }
+        };
+
+        BulkCommandResponse response = command.handle(request(investment("r1", "i1"), investment("r2", "i2")));
+
+        assertTrue(response.getResults().stream().allMatch(BulkItemResult::isSuccessful));
+        assertTrue(provider("r1", "i1").isDeleted());
+        assertTrue(provider("r2", "i2").isDeleted());
+        verify(requests.mongoAdapter).applyUpdate(eq("r1"), eq(2), any());
+        verify(requests.mongoAdapter, never()).applyUpdate(eq("r2"), anyInt(), any());
+        assertEquals(3, requests.get("r1").getVersion());
+    }
+
+    @Test
+    void requestThatKeepsLosingFailsWithAConcurrentUpdateError() {
+        requests.put(menialRequest("r1", pending("i1")));
+        requests.put(menialRequest("r2", pending("i2")));
+        requests.beforeWrite = reference -> {
+            if (reference.equals("r1")) requests.bump("r1");
+        };
+
+        BulkCommandResponse response = command.handle(request(investment("r1", "i1"), investment("r2", "i2")));
+
+        assertEquals(CONCURRENT_UPDATE_ERROR, response.getResults().get(0).getErrorCode());
+        assertTrue(response.getResults().get(1).isSuccessful());
+        assertFalse(provider("r1", "i1").isDeleted());
+        assertEquals(1, response.getMenialRequestSuppliers().size());
+    }
+
+    private ServiceProvider provider(String requestReference, String investmentReference) {
+        return requests.get(requestReference).getServiceProviders().stream()
+                .filter(x -> x.getReference().equals(investmentReference))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static InvestmentReferenceModel investment(String requestReference, String investmentReference) {
+        return InvestmentReferenceModel.builder()
+                .requestReference(requestReference)
+                .investmentReference(investmentReference)
+                .build();
+    }
+
+    private static BulkRemoveServiceProviderCommandRequest request(InvestmentReferenceModel... investments) {
+        return BulkRemoveServiceProviderCommandRequest.builder()
+                .investments(Arrays.asList(investments))
+                .deletedBy(DeletedBy.TTL_SERVICE)
+                .build();
+    }
+}
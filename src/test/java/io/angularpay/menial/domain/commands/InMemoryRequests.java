@@ -0,0 +1,184 @@
+package io.angularpay.menial.domain.commands;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.angularpay.menial.adapters.outbound.MongoAdapter;
+import io.angularpay.menial.configurations.AngularPayConfiguration;
+import io.angularpay.menial.domain.DeletedBy;
+import io.angularpay.menial.domain.InvestmentStatus;
+import io.angularpay.menial.domain.MenialRequest;
+import io.angularpay.menial.domain.ServiceProvider;
+import io.angularpay.menial.helpers.CommandHelper;
+import io.angularpay.menial.helpers.ExponentialBackoffRetryPolicy;
+import io.angularpay.menial.helpers.GroupCommitHelper;
+import io.angularpay.menial.helpers.RequestLockHelper;
+import io.angularpay.menial.helpers.RetryPolicy;
+import io.angularpay.menial.helpers.SerializationHelper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Backs a mocked {@link MongoAdapter} with requests held in memory, applying the version-guarded service provider
+ * updates of the bulk commands the way MongoDB would. {@link #beforeWrite} runs ahead of every write, e.g. to
+ * simulate a concurrent writer getting there first.
+ */
+class InMemoryRequests {
+
+    private static final Pattern ITEM_PATH = Pattern.compile("serviceProviders\\.\\$\\[(\\w+)]\\.(\\w+)");
+    private static final Pattern REFERENCE = Pattern.compile("\\^\\\\Q(.*)\\\\E\\$");
+
+    final AngularPayConfiguration configuration = configuration();
+    final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    final ObjectMapper mapper = new ObjectMapper();
+    final MongoAdapter mongoAdapter = mock(MongoAdapter.class);
+    // the budget gauge only holds the policy weakly
+    final RetryPolicy retryPolicy = new ExponentialBackoffRetryPolicy(configuration, meterRegistry);
+    final CommandHelper commandHelper = new CommandHelper(mongoAdapter, new SerializationHelper(mapper), configuration,
+            meterRegistry, retryPolicy, new RequestLockHelper(configuration, meterRegistry), new GroupCommitHelper(configuration, meterRegistry));
+    private final Map<String, MenialRequest> requests = new HashMap<>();
+    Consumer<String> beforeWrite = reference -> {
+    };
+
+    @SuppressWarnings("unchecked")
+    InMemoryRequests() {
+        when(mongoAdapter.findRequestByReference(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(copy(requests.get(invocation.<String>getArgument(0)))));
+        when(mongoAdapter.findRequestsByReferences(anyCollection()))
+                .thenAnswer(invocation -> invocation.<Collection<String>>getArgument(0).stream()
+                        .map(requests::get)
+                        .filter(Objects::nonNull)
+                        .map(InMemoryRequests::copy)
+                        .collect(Collectors.toList()));
+        when(mongoAdapter.applyUpdate(anyString(), anyInt(), any(Update.class)))
+                .thenAnswer(invocation -> Optional.ofNullable(copy(apply(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2)))));
+        doAnswer(invocation -> {
+            Map<String, Update> updates = invocation.getArgument(0);
+            Map<String, Integer> expectedVersions = invocation.getArgument(1);
+            updates.forEach((reference, update) -> apply(reference, expectedVersions.get(reference), update));
+            return null;
+        }).when(mongoAdapter).applyUpdates(anyMap(), anyMap());
+    }
+
+    void put(MenialRequest request) {
+        requests.put(request.getReference(), request);
+    }
+
+    MenialRequest get(String reference) {
+        return requests.get(reference);
+    }
+
+    /**
+     * Simulates another writer moving the request on by one version.
+     */
+    void bump(String reference) {
+        MenialRequest request = requests.get(reference);
+        request.setVersion(request.getVersion() + 1);
+    }
+
+    static ServiceProvider pending(String reference) {
+        return ServiceProvider.builder().reference(reference).build();
+    }
+
+    static MenialRequest menialRequest(String reference, ServiceProvider... serviceProviders) {
+        return MenialRequest.builder()
+                .reference(reference)
+                .version(1)
+                .serviceProviders(List.of(serviceProviders))
+                .build();
+    }
+
+    private MenialRequest apply(String reference, int expectedVersion, Update update) {
+        beforeWrite.accept(reference);
+        MenialRequest request = requests.get(reference);
+        if (Objects.isNull(request) || request.getVersion() != expectedVersion) return null;
+
+        Map<String, String> filters = new HashMap<>();
+        update.getArrayFilters().forEach(filter -> filter.asDocument().forEach((key, value) -> {
+            if (!key.endsWith(".reference")) return;
+            Matcher matcher = REFERENCE.matcher(String.valueOf(((Pattern) value).pattern()));
+            if (matcher.matches()) filters.put(key.substring(0, key.indexOf('.')), matcher.group(1));
+        }));
+        Document set = (Document) update.getUpdateObject().get("$set");
+        set.forEach((path, value) -> {
+            Matcher matcher = ITEM_PATH.matcher(path);
+            if (!matcher.matches()) return;
+            String item = filters.get(matcher.group(1));
+            request.getServiceProviders().stream()
+                    .filter(x -> x.getReference().equalsIgnoreCase(item))
+                    .forEach(x -> set(x, matcher.group(2), value));
+        });
+        Document inc = (Document) update.getUpdateObject().get("$inc");
+        request.setVersion(request.getVersion() + ((Number) inc.get("version")).intValue());
+        return request;
+    }
+
+    private static void set(ServiceProvider serviceProvider, String property, Object value) {
+        switch (property) {
+            case "deleted":
+                serviceProvider.setDeleted((Boolean) value);
+                break;
+            case "deletedOn":
+                serviceProvider.setDeletedOn((String) value);
+                break;
+            case "deletedBy":
+                serviceProvider.setDeletedBy((DeletedBy) value);
+                break;
+            case "investmentStatus":
+                serviceProvider.setInvestmentStatus((InvestmentStatus) value);
+                break;
+            default:
+                throw new UnsupportedOperationException(property);
+        }
+    }
+
+    private static MenialRequest copy(MenialRequest request) {
+        if (Objects.isNull(request)) return null;
+        return request.toBuilder()
+                .serviceProviders(request.getServiceProviders().stream()
+                        .map(x -> x.toBuilder().build())
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    private static AngularPayConfiguration configuration() {
+        AngularPayConfiguration.Retry retry = new AngularPayConfiguration.Retry();
+        retry.setInitialBackoffMillis(1);
+        retry.setMaxBackoffMillis(2);
+        retry.setMaxElapsedMillis(1000);
+        retry.setBudgetRatio(1);
+        retry.setBudgetMaxRetries(100);
+        AngularPayConfiguration.CacheSpec contention = new AngularPayConfiguration.CacheSpec();
+        contention.setMaxSize(100);
+        contention.setTtlSeconds(60);
+        retry.setContention(contention);
+        AngularPayConfiguration.Locks locks = new AngularPayConfiguration.Locks();
+        locks.setStripes(16);
+        locks.setTimeoutMillis(100);
+        AngularPayConfiguration.GroupCommit groupCommit = new AngularPayConfiguration.GroupCommit();
+        groupCommit.setMaxBatchSize(10);
+        AngularPayConfiguration.Bulk bulk = new AngularPayConfiguration.Bulk();
+        bulk.setMaxItems(100);
+        AngularPayConfiguration configuration = new AngularPayConfiguration();
+        configuration.setMaxUpdateRetry(3);
+        configuration.setRetry(retry);
+        configuration.setLocks(locks);
+        configuration.setGroupCommit(groupCommit);
+        configuration.setBulk(bulk);
+        return configuration;
+    }
+}
@@ -0,0 +1,125 @@
+package io.angularpay.menial.helpers;
+
+import io.angularpay.menial.configurations.AngularPayConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExponentialBackoffRetryPolicyTest {
+
+    private AngularPayConfiguration configuration;
+    private MeterRegistry meterRegistry;
+    // the budget gauge only holds the policy weakly
+    private RetryPolicy policy;
+
+    @BeforeEach
+    void setUp() {
+        AngularPayConfiguration.Retry retry = new AngularPayConfiguration.Retry();
+        retry.setInitialBackoffMillis(10);
+        retry.setMaxBackoffMillis(200);
+        retry.setMaxElapsedMillis(2000);
+        retry.setBudgetRatio(0.5);
+        retry.setBudgetMaxRetries(100);
+        this.configuration = new AngularPayConfiguration();
+        this.configuration.setMaxUpdateRetry(3);
+        this.configuration.setRetry(retry);
+        this.meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void retriesUpToMaxUpdateRetry() {
+        RetryPolicy policy = policy();
+
+        assertTrue(policy.nextBackoffMillis(1, 0).isPresent());
+        assertTrue(policy.nextBackoffMillis(3, 0).isPresent());
+        assertTrue(policy.nextBackoffMillis(4, 0).isEmpty());
+    }
+
+    @Test
+    void backoffStaysWithinTheExponentialCeiling() {
+        RetryPolicy policy = policy();
+
+        for (int i = 0; i < 20; i++) {
+            assertBetween(0, 10, policy.nextBackoffMillis(1, 0));
+            assertBetween(0, 20, policy.nextBackoffMillis(2, 0));
+            assertBetween(0, 40, policy.nextBackoffMillis(3, 0));
+        }
+    }
+
+    @Test
+    void backoffIsCappedAtMaxBackoff() {
+        this.configuration.setMaxUpdateRetry(100);
+        RetryPolicy policy = policy();
+
+        for (int i = 0; i < 20; i++) {
+            assertBetween(0, 200, policy.nextBackoffMillis(64, 0));
+        }
+    }
+
+    @Test
+    void stopsOnceTheElapsedTimeWouldExceedTheCap() {
+        RetryPolicy policy = policy();
+
+        assertTrue(policy.nextBackoffMillis(1, 1990).isPresent());
+        assertTrue(policy.nextBackoffMillis(1, 2001).isEmpty());
+    }
+
+    @Test
+    void eachRetryWithdrawsFromTheBudget() {
+        this.configuration.getRetry().setBudgetMaxRetries(2);
+        RetryPolicy policy = policy();
+
+        assertTrue(policy.nextBackoffMillis(1, 0).isPresent());
+        assertTrue(policy.nextBackoffMillis(1, 0).isPresent());
+        assertTrue(policy.nextBackoffMillis(1, 0).isEmpty());
+        assertEquals(1, this.meterRegistry.counter("menial.command.acid.budget.exhausted").count());
+        assertEquals(0, budget());
+    }
+
+    @Test
+    void callsTopUpTheBudgetByTheRatio() {
+        this.configuration.getRetry().setBudgetMaxRetries(1);
+        RetryPolicy policy = policy();
+        assertTrue(policy.nextBackoffMillis(1, 0).isPresent());
+        assertTrue(policy.nextBackoffMillis(1, 0).isEmpty());
+
+        policy.onCall();
+        assertEquals(0.5, budget());
+        assertTrue(policy.nextBackoffMillis(1, 0).isEmpty());
+
+        policy.onCall();
+        assertEquals(1, budget());
+        assertTrue(policy.nextBackoffMillis(1, 0).isPresent());
+    }
+
+    @Test
+    void budgetNeverExceedsItsCapacity() {
+        this.configuration.getRetry().setBudgetMaxRetries(2);
+        RetryPolicy policy = policy();
+
+        for (int i = 0; i < 10; i++) {
+            policy.onCall();
+        }
+
+        assertEquals(2, budget());
+    }
+
+    private RetryPolicy policy() {
+        this.policy = new ExponentialBackoffRetryPolicy(this.configuration, this.meterRegistry);
+        return this.policy;
+    }
+
+    private double budget() {
+        return this.meterRegistry.get("menial.command.acid.budget").gauge().value();
+    }
+
+    private static void assertBetween(long min, long max, OptionalLong actual) {
+        assertTrue(actual.isPresent());
+        assertTrue(actual.getAsLong() >= min && actual.getAsLong() <= max, String.valueOf(actual.getAsLong()));
+    }
+}
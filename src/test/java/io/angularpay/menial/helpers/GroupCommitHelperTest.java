@@ -0,0 +1,194 @@
+package io.angularpay.menial.helpers;
+
+import io.angularpay.menial.configurations.AngularPayConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GroupCommitHelperTest {
+
+    private static final String KEY = "request|serviceProviders";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final List<List<Object>> writes = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    void zeroWindowWritesEveryItemOnItsOwn() {
+        GroupCommitHelper helper = helper(0, 50);
+
+        assertEquals("a!", helper.submit(KEY, "a", this::write));
+        assertEquals("b!", helper.submit(KEY, "b", this::write));
+
+        assertEquals(List.of(List.of("a"), List.of("b")), this.writes);
+    }
+
+    @Test
+    void uncontendedItemIsWrittenWithoutWaitingOutTheWindow() throws Exception {
+        GroupCommitHelper helper = helper(60_000, 50);
+
+        // the window is a minute, so this only completes if nobody waited for it
+        Future<String> result = this.executor.submit(() -> helper.submit(KEY, "a", this::write));
+
+        assertEquals("a!", result.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of(List.of("a")), this.writes);
+    }
+
+    @Test
+    void itemsArrivingDuringAWriteShareTheNextOneAndGetTheirOwnResult() throws Exception {
+        GroupCommitHelper helper = helper(500, 50);
+        CountDownLatch release = this.writeInFlight(helper);
+
+        List<Future<String>> results = this.submitTogether(helper, List.of("a", "b", "c"), this::write);
+
+        assertEquals(List.of("a!", "b!", "c!"), get(results));
+        release.countDown();
+        assertEquals(2, this.writes.size());
+        assertEquals(List.of("a", "b", "c"), this.writes.get(1).stream().sorted().collect(Collectors.toList()));
+        assertEquals(3, this.meterRegistry.summary("menial.command.group.commit.size").max());
+    }
+
+    @Test
+    void differentKeysAreNotCoalesced() throws Exception {
+        GroupCommitHelper helper = helper(100, 50);
+        CountDownLatch release = this.writeInFlight(helper);
+
+        Future<String> first = this.executor.submit(() -> helper.submit(KEY, "a", this::write));
+        Future<String> second = this.executor.submit(() -> helper.submit("other|serviceProviders", "b", this::write));
+
+        // the other key is not contended, so it does not wait for the write in flight
+        assertEquals("b!", second.get(5, TimeUnit.SECONDS));
+        release.countDown();
+        assertEquals("a!", first.get(5, TimeUnit.SECONDS));
+        assertEquals(3, this.writes.size());
+    }
+
+    @Test
+    void failedWriteIsRethrownToEveryMember() throws Exception {
+        GroupCommitHelper helper = helper(500, 50);
+        CountDownLatch release = this.writeInFlight(helper);
+        IllegalStateException failure = new IllegalStateException("write failed");
+
+        List<Future<String>> results = this.submitTogether(helper, List.of("a", "b", "c"), items -> {
+            this.writes.add(items);
+            throw failure;
+        });
+
+        for (Future<String> result : results) {
+            ExecutionException exception = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertSame(failure, exception.getCause());
+        }
+        release.countDown();
+        assertEquals(2, this.writes.size());
+    }
+
+    @Test
+    void fullBatchIsWrittenWithoutWaitingOutTheWindow() throws Exception {
+        GroupCommitHelper helper = helper(60_000, 2);
+        CountDownLatch release = this.writeInFlight(helper);
+        CountDownLatch leaderJoined = new CountDownLatch(1);
+
+        Future<String> leader = this.executor.submit(() -> {
+            leaderJoined.countDown();
+            return helper.submit(KEY, "a", this::write);
+        });
+        leaderJoined.await();
+        Thread.sleep(50);
+        Future<String> follower = this.executor.submit(() -> helper.submit(KEY, "b", this::write));
+
+        // the window is a minute, so these only complete if filling the batch woke the leader
+        assertEquals("a!", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("b!", follower.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of("a", "b"), this.writes.get(1));
+        release.countDown();
+    }
+
+    @Test
+    void itemsBeyondAFullBatchStartANewOne() throws Exception {
+        GroupCommitHelper helper = helper(300, 2);
+        CountDownLatch release = this.writeInFlight(helper);
+
+        List<Future<String>> results = this.submitTogether(helper, List.of("a", "b", "c", "d", "e"), this::write);
+
+        assertEquals(List.of("a!", "b!", "c!", "d!", "e!"), get(results));
+        release.countDown();
+        List<Integer> sizes = this.writes.stream().skip(1).map(List::size).sorted().collect(Collectors.toList());
+        assertEquals(List.of(1, 2, 2), sizes);
+    }
+
+    /**
+     * Starts a write for {@link #KEY} that stays in flight, contending the key, until the returned latch is
+     * released. Items submitted meanwhile are batched instead of written at once.
+     */
+    private CountDownLatch writeInFlight(GroupCommitHelper helper) throws InterruptedException {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        this.executor.submit(() -> helper.submit(KEY, "in flight", items -> {
+            List<String> results = this.write(items);
+            writing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            return results;
+        }));
+        writing.await();
+        return release;
+    }
+
+    private List<String> write(List<Object> items) {
+        this.writes.add(new ArrayList<>(items));
+        return items.stream().map(item -> item + "!").collect(Collectors.toList());
+    }
+
+    private List<Future<String>> submitTogether(GroupCommitHelper helper, List<String> items, Function<List<Object>, List<String>> writer) {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        for (String item : items) {
+            results.add(this.executor.submit(() -> {
+                start.await();
+                return helper.submit(KEY, item, writer);
+            }));
+        }
+        start.countDown();
+        return results;
+    }
+
+    private static List<String> get(List<Future<String>> futures) throws Exception {
+        List<String> values = new ArrayList<>();
+        for (Future<String> future : futures) {
+            values.add(future.get(5, TimeUnit.SECONDS));
+        }
+        return values;
+    }
+
+    private GroupCommitHelper helper(long windowMillis, int maxBatchSize) {
+        AngularPayConfiguration.GroupCommit groupCommit = new AngularPayConfiguration.GroupCommit();
+        groupCommit.setWindowMillis(windowMillis);
+        groupCommit.setMaxBatchSize(maxBatchSize);
+        AngularPayConfiguration configuration = new AngularPayConfiguration();
+        configuration.setGroupCommit(groupCommit);
+        return new GroupCommitHelper(configuration, this.meterRegistry);
+    }
+}
@@ -0,0 +1,109 @@
+package io.angularpay.menial.helpers;
+
+import io.angularpay.menial.adapters.outbound.MongoAdapter;
+import io.angularpay.menial.adapters.outbound.RedisAdapter;
+import io.angularpay.menial.configurations.AngularPayConfiguration;
+import io.angularpay.menial.domain.MenialRequest;
+import io.angularpay.menial.domain.OutboxChannel;
+import io.angularpay.menial.domain.OutboxLease;
+import io.angularpay.menial.domain.OutboxMessage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OutboxHelperTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MongoAdapter mongoAdapter = mock(MongoAdapter.class);
+    private final RedisAdapter redisAdapter = mock(RedisAdapter.class);
+    private OutboxHelper helper;
+
+    @BeforeEach
+    void setUp() {
+        AngularPayConfiguration.Outbox outbox = new AngularPayConfiguration.Outbox();
+        outbox.setBatchSize(10);
+        outbox.setMaxAttempts(3);
+        outbox.setInitialBackoffMillis(100);
+        outbox.setMaxBackoffMillis(1000);
+        outbox.setLeaseSeconds(30);
+        AngularPayConfiguration configuration = new AngularPayConfiguration();
+        configuration.setNodeId("node");
+        configuration.setOutbox(outbox);
+        this.helper = new OutboxHelper(mongoAdapter, redisAdapter, mock(PublisherHelper.class), configuration, meterRegistry);
+        when(mongoAdapter.findOldestPendingOutboxMessage()).thenReturn(Optional.empty());
+    }
+
+    @Test
+    void onlyTheRequestsThatFailedToPublishAreRescheduled() {
+        MenialRequest a = request("a", 0);
+        MenialRequest b = request("b", 0);
+        MenialRequest c = request("c", 0);
+        this.leases(a, b, c);
+        when(redisAdapter.publishAll(anyMap())).thenReturn(Map.of("b", new RedisConnectionFailureException("down")));
+
+        this.helper.relay();
+
+        verify(mongoAdapter).releaseOutbox(eq(Map.of("a", List.of("a-1"), "c", List.of("c-1"))), anyString());
+        verify(mongoAdapter).rescheduleOutbox(eq(List.of("b")), anyString(), any(), eq("down"));
+        verify(mongoAdapter, never()).createFailedOutboxMessages(anyList());
+        assertEquals(2, meterRegistry.counter("menial.outbox.published").count());
+        assertEquals(1, meterRegistry.counter("menial.outbox.retried").count());
+    }
+
+    @Test
+    void aRequestOutOfAttemptsIsDeadLetteredWithoutTouchingTheOthers() {
+        MenialRequest a = request("a", 2);
+        MenialRequest b = request("b", 0);
+        this.leases(a, b);
+        when(redisAdapter.publishAll(anyMap())).thenReturn(Map.of("a", new RedisConnectionFailureException("down")));
+
+        this.helper.relay();
+
+        verify(mongoAdapter).releaseOutbox(eq(Map.of("b", List.of("b-1"))), anyString());
+        verify(mongoAdapter).releaseOutbox(eq(Map.of("a", List.of("a-1"))), anyString());
+        verify(mongoAdapter).createFailedOutboxMessages(argThat(messages -> messages.size() == 1
+                && "a-1".equals(messages.get(0).getId()) && messages.get(0).getAttempts() == 3));
+        verify(mongoAdapter, never()).rescheduleOutbox(anyCollection(), anyString(), any(), anyString());
+    }
+
+    @Test
+    void nothingIsRescheduledWhenEverythingWasPublished() {
+        this.leases(request("a", 0), request("b", 1));
+        when(redisAdapter.publishAll(anyMap())).thenReturn(Map.of());
+
+        this.helper.relay();
+
+        verify(mongoAdapter).releaseOutbox(eq(Map.of("a", List.of("a-1"), "b", List.of("b-1"))), anyString());
+        verify(mongoAdapter, never()).rescheduleOutbox(anyCollection(), anyString(), any(), anyString());
+    }
+
+    private void leases(MenialRequest... requests) {
+        when(mongoAdapter.findRequestsWithPendingOutbox(any(), anyInt())).thenReturn(List.of(requests), List.of());
+        when(mongoAdapter.leaseOutbox(anyCollection(), any(), any(OutboxLease.class)))
+                .thenAnswer(invocation -> {
+                    Collection<String> ids = invocation.getArgument(0);
+                    assertEquals(requests.length, ids.size());
+                    return List.of(requests);
+                });
+    }
+
+    private static MenialRequest request(String id, int attempts) {
+        return MenialRequest.builder()
+                .id(id)
+                .reference(id)
+                .outbox(List.of(OutboxMessage.builder().id(id + "-1").channel(OutboxChannel.UPDATES).payload("{}").build()))
+                .outboxLease(OutboxLease.builder().token("token").attempts(attempts).build())
+                .build();
+    }
+}
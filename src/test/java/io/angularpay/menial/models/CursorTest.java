@@ -0,0 +1,62 @@
+package io.angularpay.menial.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorTest {
+
+    @Test
+    void encodeThenDecodeReturnsTheSamePosition() {
+        Cursor cursor = new Cursor("2021-09-01T10:15:30Z", "612f4b2e9d3c2a0b1c8e7f6a");
+
+        Optional<Cursor> decoded = Cursor.decode(cursor.encode());
+
+        assertEquals(Optional.of(cursor), decoded);
+    }
+
+    @Test
+    void encodedTokenIsUrlSafe() {
+        Cursor cursor = new Cursor("??>>??", "612f4b2e9d3c2a0b1c8e7f6a");
+        String token = cursor.encode();
+
+        assertTrue(token.matches("[A-Za-z0-9_-]+"));
+        assertEquals(Optional.of(cursor), Cursor.decode(token));
+    }
+
+    @Test
+    void blankTokenIsTheFirstPage() {
+        assertEquals(Optional.empty(), Cursor.decode(null));
+        assertEquals(Optional.empty(), Cursor.decode(""));
+        assertEquals(Optional.empty(), Cursor.decode("   "));
+    }
+
+    @Test
+    void tokenWithoutSeparatorIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> Cursor.decode(encode("2021-09-01T10:15:30Z")));
+    }
+
+    @Test
+    void tokenWithEmptyPartIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> Cursor.decode(encode("|612f4b2e9d3c2a0b1c8e7f6a")));
+        assertThrows(IllegalArgumentException.class, () -> Cursor.decode(encode("2021-09-01T10:15:30Z|")));
+    }
+
+    @Test
+    void tokenWithAnIdThatIsNotAnObjectIdIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> Cursor.decode(encode("2021-09-01T10:15:30Z|not-an-object-id")));
+    }
+
+    @Test
+    void tokenThatIsNotBase64IsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> Cursor.decode("not a token!"));
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
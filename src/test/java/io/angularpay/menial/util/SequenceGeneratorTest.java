@@ -0,0 +1,77 @@
+package io.angularpay.menial.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SequenceGeneratorTest {
+
+    @Test
+    void sequenceRestartsOnANewDay() {
+        long day = 100_000;
+
+        assertEquals(1, SequenceGenerator.getNextSequence(day));
+        assertEquals(2, SequenceGenerator.getNextSequence(day));
+        assertEquals(3, SequenceGenerator.getNextSequence(day));
+        assertEquals(1, SequenceGenerator.getNextSequence(day + 1));
+        assertEquals(2, SequenceGenerator.getNextSequence(day + 1));
+    }
+
+    @Test
+    void sequenceIsUniqueUnderContention() throws Exception {
+        long day = 200_000;
+        int threads = 8;
+        int perThread = 10_000;
+        SequenceGenerator.getNextSequence(day);
+
+        Set<Long> seen = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < perThread; j++) {
+                        assertTrue(seen.add(SequenceGenerator.getNextSequence(day)));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(threads * perThread, seen.size());
+        assertEquals(threads * perThread + 1, SequenceGenerator.getNextSequence(day) - 1);
+    }
+
+    @Test
+    void ordinalHostNamesKeepTheirOrdinal() {
+        assertEquals("0", SequenceGenerator.shortNodeId("menial-service-0"));
+        assertEquals("12", SequenceGenerator.shortNodeId("menial-service-12"));
+    }
+
+    @Test
+    void otherHostNamesBecomeAShortStableHash() {
+        String id = SequenceGenerator.shortNodeId("menial-service-7d9f8b6c5-x2kq9");
+
+        assertTrue(id.matches("[0-9A-Z]{5}"), id);
+        assertEquals(id, SequenceGenerator.shortNodeId("menial-service-7d9f8b6c5-x2kq9"));
+        assertNotEquals(id, SequenceGenerator.shortNodeId("menial-service-7d9f8b6c5-p8zt4"));
+    }
+}